@@ -0,0 +1,157 @@
+package com.storeinventory.viewer.assets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build step (process-classes): copies each top-level .css/.js in the compiled static directory to
+// assets/<name>.<content-hash>.<ext>, writes index.html from the source copy with references to the
+// copies, and writes .gz (and .br when a brotli binary is available) next to every served file.
+// Lives outside src/main so it never ships in the application jar; Maven runs it as a single source file.
+public final class StaticAssetPipeline {
+
+    private static final Pattern LOCAL_ASSET = Pattern.compile("(href|src)=\"([\\w.-]+\\.(?:css|js))\"");
+    private static final int HASH_LENGTH = 10;
+    private static final Pattern GENERATED = Pattern.compile("[\\w.-]+\\.[0-9a-f]{" + HASH_LENGTH + "}\\.(?:css|js)(?:\\.gz|\\.br)?");
+
+    private final Path sourceDir;
+    private final Path staticDir;
+    private final String brotli;
+
+    StaticAssetPipeline(Path sourceDir, Path staticDir, String brotli) {
+        this.sourceDir = sourceDir;
+        this.staticDir = staticDir;
+        this.brotli = brotli;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path sourceDir = Path.of(args.length > 0 ? args[0] : "src/main/resources/static");
+        Path staticDir = Path.of(args.length > 1 ? args[1] : "target/classes/static");
+        String brotli = args.length > 2 ? args[2] : "brotli";
+        if (!Files.isDirectory(staticDir)) {
+            System.out.println("[assets] No static directory at " + staticDir + ", skipping");
+            return;
+        }
+        boolean withBrotli = isAvailable(brotli);
+        Map<String, String> manifest = new StaticAssetPipeline(sourceDir, staticDir, withBrotli ? brotli : null).run();
+        System.out.println("[assets] Fingerprinted " + manifest.size() + " assets"
+                + (withBrotli ? " (gzip + brotli)" : " (gzip only; no brotli binary found)"));
+    }
+
+    // Returns the manifest: source name -> served path of its fingerprinted copy
+    Map<String, String> run() throws IOException, InterruptedException {
+        // Copies of earlier builds would otherwise pile up next to the current ones
+        Path assetsDir = Files.createDirectories(staticDir.resolve("assets"));
+        deleteGenerated(assetsDir);
+
+        List<Path> sources;
+        try (Stream<Path> files = Files.list(staticDir)) {
+            sources = files.filter(file -> file.toString().endsWith(".css") || file.toString().endsWith(".js"))
+                    .sorted()
+                    .toList();
+        }
+
+        Map<String, String> manifest = new TreeMap<>();
+        for (Path source : sources) {
+            String name = source.getFileName().toString();
+            byte[] content = Files.readAllBytes(source);
+            int dot = name.lastIndexOf('.');
+            String hashedName = name.substring(0, dot) + "." + contentHash(content) + name.substring(dot);
+
+            Path hashed = assetsDir.resolve(hashedName);
+            Files.write(hashed, content);
+            compress(hashed);
+            manifest.put(name, "/assets/" + hashedName);
+        }
+
+        // Always from the source page: the compiled one may already point at an earlier build's copies
+        Path sourceIndex = sourceDir.resolve("index.html");
+        if (Files.exists(sourceIndex)) {
+            String html = Files.readString(sourceIndex, StandardCharsets.UTF_8);
+            Matcher matcher = LOCAL_ASSET.matcher(html);
+            String rewritten = matcher.replaceAll(match -> {
+                String target = manifest.get(match.group(2));
+                return target == null ? Matcher.quoteReplacement(match.group())
+                        : Matcher.quoteReplacement(match.group(1) + "=\"" + target + "\"");
+            });
+            Path index = staticDir.resolve("index.html");
+            Files.writeString(index, rewritten, StandardCharsets.UTF_8);
+            compress(index);
+        }
+
+        Files.writeString(assetsDir.resolve("manifest.json"), manifest.entrySet().stream()
+                .map(entry -> "  \"" + entry.getKey() + "\": \"" + entry.getValue() + "\"")
+                .collect(Collectors.joining(",\n", "{\n", "\n}\n")), StandardCharsets.UTF_8);
+        return manifest;
+    }
+
+    // Only what this tool writes: images and other files shipped under assets/ stay
+    private static void deleteGenerated(Path assetsDir) throws IOException {
+        try (Stream<Path> files = Files.list(assetsDir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (GENERATED.matcher(name).matches() || name.equals("manifest.json")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private void compress(Path file) throws IOException, InterruptedException {
+        Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+
+        if (brotli != null) {
+            Path br = file.resolveSibling(file.getFileName() + ".br");
+            Process process = new ProcessBuilder(brotli, "-q", "11", "-f", "-o", br.toString(), file.toString())
+                    .inheritIO()
+                    .start();
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException("brotli failed for " + file);
+            }
+        }
+    }
+
+    private static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isAvailable(String command) {
+        try {
+            Process process = new ProcessBuilder(command, "--version").redirectErrorStream(true).start();
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.storeinventory.viewer.benchmark;
+
+import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.security.TokenDenylist;
+import com.storeinventory.viewer.service.impl.AuthenticationServiceImpl;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue and verification without a Spring context (the user lookup is not on these paths)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+	private static final String SECRET = "mySuperSecretKeyForJWTTokenGenerationThatIsLongEnoughForHS512Algorithm12345";
+
+	// Far more distinct tokens than the cold service caches, so every lookup misses
+	private static final int COLD_TOKENS = 4096;
+
+	private final User admin = new User("admin", "admin@store.com", "unused", "ADMIN");
+	private AuthenticationServiceImpl authenticationService;
+	private AuthenticationServiceImpl coldService;
+	private JwtParser jwtParser;
+	private String token;
+	private String[] coldTokens;
+	private int nextColdToken;
+
+	@Setup
+	public void setUp() {
+		authenticationService = newService(10_000L);
+		coldService = newService(1L);
+
+		jwtParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+		token = authenticationService.generateToken(admin);
+		coldTokens = new String[COLD_TOKENS];
+		for (int i = 0; i < COLD_TOKENS; i++) {
+			coldTokens[i] = coldService.generateToken(admin);
+		}
+	}
+
+	private static AuthenticationServiceImpl newService(long tokenCacheMaxSize) {
+		return new AuthenticationServiceImpl(null, new TokenDenylist(10_000, 0.001), null, new SimpleMeterRegistry(),
+				SECRET, 86_400_000L, 604_800_000L, tokenCacheMaxSize);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return authenticationService.generateToken(admin);
+	}
+
+	// Repeat requests with the same token (served from the verified-token cache)
+	@Benchmark
+	public boolean validateToken() {
+		return authenticationService.validateToken(token);
+	}
+
+	// A different token every call: cache miss, signature check, claims parse and cache insert
+	@Benchmark
+	public boolean validateTokenColdPath() {
+		String next = coldTokens[nextColdToken];
+		nextColdToken = (nextColdToken + 1) % COLD_TOKENS;
+		return coldService.validateToken(next);
+	}
+
+	// First sighting of a token: full HS512 signature check and claims parse
+	@Benchmark
+	public Object verifySignature() {
+		return jwtParser.parseClaimsJws(token).getBody();
+	}
+}
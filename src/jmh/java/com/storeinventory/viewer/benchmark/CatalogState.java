@@ -0,0 +1,92 @@
+package com.storeinventory.viewer.benchmark;
+
+import com.storeinventory.viewer.InventoryViewerApplication;
+import com.storeinventory.viewer.search.ProductSearchIndexer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Full application context on a private in-memory H2 database seeded with the given number of products
+@State(Scope.Benchmark)
+public class CatalogState {
+
+	private static final String[] CATEGORIES = {"Electronics", "Clothing", "Grocery", "Home", "Toys", "Sports"};
+	private static final String[] WORDS = {"phone", "laptop", "shoes", "jacket", "coffee", "lamp", "ball", "camera", "milk", "desk"};
+	private static final int INSERT_BATCH = 5_000;
+
+	@Param({"10000", "1000000"})
+	public int rows;
+
+	public ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(InventoryViewerApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:benchmark-" + rows + ";DB_CLOSE_DELAY=-1",
+						"spring.jpa.show-sql=false",
+						"spring.jpa.properties.hibernate.format_sql=false",
+						"product.stats.reconcile-interval=PT24H",
+						// Measure the queries, not the slow-query profiler wrapped around them
+						"metrics.slow-query.enabled=false",
+						"logging.level.root=WARN",
+						"logging.level.com.storeinventory.viewer=WARN")
+				.run();
+
+		seed(context.getBean(JdbcTemplate.class));
+		// Indexes built at startup only saw the sample data
+		context.getBean(ProductSearchIndexer.class).rebuild();
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	public <T> T bean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	private void seed(JdbcTemplate jdbcTemplate) {
+		String sql = "INSERT INTO products (id, name, description, category, price, quantity, reserved_quantity, " +
+				"available, image_url, created_at, updated_at, version) " +
+				"VALUES (NEXT VALUE FOR products_seq, ?, ?, ?, ?, ?, 0, ?, NULL, ?, ?, 0)";
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+		List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+		for (int i = 0; i < rows; i++) {
+			String word = WORDS[i % WORDS.length];
+			String other = WORDS[(i / WORDS.length) % WORDS.length];
+			batch.add(new Object[]{
+					"Bench " + word + " " + other + " " + i,
+					"Benchmark " + word + " with " + other + " accessories",
+					CATEGORIES[i % CATEGORIES.length],
+					1.0 + (i % 1000),
+					i % 200,
+					i % 10 != 0,
+					now,
+					now
+			});
+			if (batch.size() == INSERT_BATCH) {
+				jdbcTemplate.batchUpdate(sql, batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			jdbcTemplate.batchUpdate(sql, batch);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.storeinventory.viewer.benchmark;
+
+import com.storeinventory.viewer.repository.ProductRepository;
+import com.storeinventory.viewer.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+// Repository and service read paths at 10k and 1M rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ProductCatalogBenchmark {
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+	private static final Pageable DEEP_PAGE = PageRequest.of(200, 20);
+
+	private ProductRepository productRepository;
+	private ProductService productService;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		productRepository = catalog.bean(ProductRepository.class);
+		productService = catalog.bean(ProductService.class);
+	}
+
+	@Benchmark
+	public Object repositorySearchProducts() {
+		return productRepository.searchProducts("phone", "Electronics", 10.0, 500.0, true, FIRST_PAGE);
+	}
+
+	@Benchmark
+	public Object repositorySearchProductsSortedByPrice() {
+		return productRepository.searchProducts("lamp", null, null, null, true,
+				PageRequest.of(0, 20, Sort.by("price").descending()));
+	}
+
+	@Benchmark
+	public Object serviceSearchCatalog() {
+		return productService.searchCatalog("camera desk", true, FIRST_PAGE);
+	}
+
+	@Benchmark
+	public Object serviceAvailablePage() {
+		return productService.getAvailableProductsWithPagination(DEEP_PAGE);
+	}
+
+	@Benchmark
+	public Object serviceCategoryPage() {
+		return productService.getProductsByCategoryWithPagination("Grocery", DEEP_PAGE);
+	}
+
+	@Benchmark
+	public Object serviceSummaryPage() {
+		return productService.getProductSummariesWithPagination(null, true, DEEP_PAGE);
+	}
+}
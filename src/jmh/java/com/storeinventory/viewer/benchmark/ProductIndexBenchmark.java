@@ -0,0 +1,56 @@
+package com.storeinventory.viewer.benchmark;
+
+import com.storeinventory.viewer.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// Category browsing and low-stock lookups against the indexed products table; the plans themselves are checked by ProductIndexPlanTest
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ProductIndexBenchmark {
+
+	private static final String CATEGORY_PAGE =
+			"SELECT id, name, price FROM products WHERE category = ? AND available = TRUE ORDER BY name LIMIT 20";
+	private static final String LOW_STOCK =
+			"SELECT id, name, quantity FROM products WHERE available = TRUE AND quantity < ? LIMIT 50";
+
+	private JdbcTemplate jdbcTemplate;
+	private ProductRepository productRepository;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		jdbcTemplate = catalog.bean(JdbcTemplate.class);
+		productRepository = catalog.bean(ProductRepository.class);
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Benchmark
+	public Object categoryFirstPage() {
+		return jdbcTemplate.queryForList(CATEGORY_PAGE, "Grocery");
+	}
+
+	@Benchmark
+	public Object lowStockAvailable() {
+		return jdbcTemplate.queryForList(LOW_STOCK, 5);
+	}
+
+	@Benchmark
+	public boolean existsByName() {
+		return productRepository.existsByName("Bench lamp laptop 4215");
+	}
+}
@@ -0,0 +1,70 @@
+package com.storeinventory.viewer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.storeinventory.viewer.dto.ProductSummary;
+import com.storeinventory.viewer.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response-body cost of full Product lists versus the summary projection
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+	@Param({"100", "10000"})
+	public int size;
+
+	// Same module set Spring Boot registers (java.time support)
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private List<Product> products;
+	private List<ProductSummary> summaries;
+
+	@Setup
+	public void setUp() {
+		products = new ArrayList<>(size);
+		summaries = new ArrayList<>(size);
+		LocalDateTime now = LocalDateTime.now();
+		String description = "Benchmark product description ".repeat(16);
+
+		for (int i = 0; i < size; i++) {
+			Product product = new Product("Product " + i, description, "Category " + (i % 10),
+					9.99 + i, i % 200, i % 10 != 0, "/images/product-" + i + ".jpg");
+			product.setId((long) i);
+			product.setCreatedAt(now);
+			product.setUpdatedAt(now);
+			product.setVersion(0L);
+			products.add(product);
+			summaries.add(new ProductSummary(product.getId(), product.getName(), product.getCategory(),
+					product.getPrice(), product.getAvailable()));
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeProducts() throws Exception {
+		return objectMapper.writeValueAsBytes(products);
+	}
+
+	@Benchmark
+	public byte[] serializeSummaries() throws Exception {
+		return objectMapper.writeValueAsBytes(summaries);
+	}
+}
@@ -0,0 +1,46 @@
+package com.storeinventory.viewer.alert;
+
+import java.time.LocalDateTime;
+
+// Emitted when a product crosses its low-stock threshold in either direction
+public class LowStockAlert {
+
+    public enum Type { LOW_STOCK, RESOLVED }
+
+    private final Type type;
+    private final Long productId;
+    private final String name;
+    private final String category;
+    private final int quantity;
+    private final int threshold;
+    private final LocalDateTime timestamp;
+
+    public LowStockAlert(Type type, Long productId, String name, String category, int quantity, int threshold) {
+        this.type = type;
+        this.productId = productId;
+        this.name = name;
+        this.category = category;
+        this.quantity = quantity;
+        this.threshold = threshold;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getProductId() { return productId; }
+    public String getName() { return name; }
+    public String getCategory() { return category; }
+    public int getQuantity() { return quantity; }
+    public int getThreshold() { return threshold; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    @Override
+    public String toString() {
+        return "LowStockAlert{" +
+                "type=" + type +
+                ", productId=" + productId +
+                ", quantity=" + quantity +
+                ", threshold=" + threshold +
+                '}';
+    }
+}
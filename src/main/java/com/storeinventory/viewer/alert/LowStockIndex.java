@@ -0,0 +1,310 @@
+package com.storeinventory.viewer.alert;
+
+import com.storeinventory.viewer.event.ProductSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+// Available products ordered by quantity, plus the set currently below their threshold.
+// A product is low on stock when it is available and its quantity is below the threshold
+// set for it, else the one set for its category, else the default.
+@Component
+public class LowStockIndex {
+
+    private static final Comparator<Entry> BY_QUANTITY =
+            Comparator.comparingInt((Entry entry) -> entry.quantity).thenComparing(entry -> entry.id);
+
+    // Only replaced under the monitor, when a rebuild swaps in fresh entries
+    private Map<Long, Entry> entries = new HashMap<>();
+    private NavigableSet<Entry> byQuantity = new TreeSet<>(BY_QUANTITY);
+    private NavigableSet<Entry> lowStock = new TreeSet<>(BY_QUANTITY);
+
+    // Changes seen while a rebuild is running; replayed on top of the rebuilt entries
+    private List<PendingChange> pending;
+    // An override changed after the rebuild took its copy of them; the rebuilt entries are re-evaluated
+    private boolean thresholdsChanged;
+
+    private final Map<Long, Integer> productThresholds = new HashMap<>();
+    private final Map<String, Integer> categoryThresholds = new HashMap<>();
+    private final int defaultThreshold;
+
+    public LowStockIndex(@Value("${product.low-stock.default-threshold:10}") int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    // Index the new state of a product and report whether it crossed its threshold
+    public synchronized List<LowStockAlert> update(ProductSnapshot product) {
+        if (pending != null) {
+            pending.add(new PendingChange(product.getId(), product));
+        }
+        Entry previous = removeEntry(product.getId());
+        Entry entry = toEntry(product);
+        addEntry(entry);
+        return transitions(previous != null && previous.low, entry);
+    }
+
+    public synchronized List<LowStockAlert> remove(Long productId) {
+        if (pending != null) {
+            pending.add(new PendingChange(productId, null));
+        }
+        Entry previous = removeEntry(productId);
+        if (previous != null && previous.low) {
+            return List.of(alert(LowStockAlert.Type.RESOLVED, previous));
+        }
+        return List.of();
+    }
+
+    // Start buffering live changes before the caller reads the products table
+    public synchronized void beginRebuild() {
+        pending = new ArrayList<>();
+        thresholdsChanged = false;
+    }
+
+    // Build fresh entries off the monitor against a copy of the overrides, then swap them in and
+    // re-apply the changes that raced with the read. Lookups keep using the old entries until the swap.
+    // No alerts are raised for the rebuilt state; subscribers read it through currentAlerts().
+    public void finishRebuild(Iterable<ProductSnapshot> current) {
+        Map<Long, Integer> productOverrides;
+        Map<String, Integer> categoryOverrides;
+        synchronized (this) {
+            productOverrides = new HashMap<>(productThresholds);
+            categoryOverrides = new HashMap<>(categoryThresholds);
+            thresholdsChanged = false;
+        }
+
+        Map<Long, Entry> freshEntries = new HashMap<>();
+        NavigableSet<Entry> freshByQuantity = new TreeSet<>(BY_QUANTITY);
+        NavigableSet<Entry> freshLowStock = new TreeSet<>(BY_QUANTITY);
+        for (ProductSnapshot product : current) {
+            Entry entry = toEntry(product);
+            freshEntries.put(entry.id, entry);
+            if (entry.available) {
+                freshByQuantity.add(entry);
+                if (entry.quantity < thresholdFor(entry, productOverrides, categoryOverrides)) {
+                    entry.low = true;
+                    freshLowStock.add(entry);
+                }
+            }
+        }
+
+        synchronized (this) {
+            entries = freshEntries;
+            byQuantity = freshByQuantity;
+            lowStock = freshLowStock;
+            if (pending != null) {
+                for (PendingChange change : pending) {
+                    removeEntry(change.productId);
+                    if (change.product != null) {
+                        addEntry(toEntry(change.product));
+                    }
+                }
+                pending = null;
+            }
+            if (thresholdsChanged) {
+                reevaluate(new ArrayList<>(entries.values()));
+                thresholdsChanged = false;
+            }
+        }
+    }
+
+    public synchronized void abortRebuild() {
+        pending = null;
+        thresholdsChanged = false;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Ids of available products with quantity below the given value, lowest first
+    public synchronized List<Long> findBelow(int quantity) {
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : byQuantity) {
+            if (entry.quantity >= quantity) {
+                break;
+            }
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    // Ids of products currently below their own threshold, lowest first
+    public synchronized List<Long> findLowStock() {
+        List<Long> ids = new ArrayList<>(lowStock.size());
+        for (Entry entry : lowStock) {
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    // Number of products currently below their threshold, per category
+    public synchronized Map<String, Integer> countLowStockByCategory() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Entry entry : lowStock) {
+            counts.merge(entry.category, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // One LOW_STOCK alert per product currently below its threshold
+    public synchronized List<LowStockAlert> currentAlerts() {
+        List<LowStockAlert> alerts = new ArrayList<>(lowStock.size());
+        for (Entry entry : lowStock) {
+            alerts.add(alert(LowStockAlert.Type.LOW_STOCK, entry));
+        }
+        return alerts;
+    }
+
+    // Replace all overrides, e.g. with the ones stored in the database
+    public synchronized List<LowStockAlert> loadThresholds(Map<Long, Integer> products, Map<String, Integer> categories) {
+        productThresholds.clear();
+        productThresholds.putAll(products);
+        categoryThresholds.clear();
+        categoryThresholds.putAll(categories);
+        thresholdsChanged = pending != null;
+        return reevaluate(new ArrayList<>(entries.values()));
+    }
+
+    // Null clears the override
+    public synchronized List<LowStockAlert> setProductThreshold(Long productId, Integer threshold) {
+        if (threshold == null) {
+            productThresholds.remove(productId);
+        } else {
+            productThresholds.put(productId, threshold);
+        }
+        thresholdsChanged |= pending != null;
+
+        Entry entry = entries.get(productId);
+        return entry != null ? reevaluate(List.of(entry)) : List.of();
+    }
+
+    // Null clears the override
+    public synchronized List<LowStockAlert> setCategoryThreshold(String category, Integer threshold) {
+        if (threshold == null) {
+            categoryThresholds.remove(category);
+        } else {
+            categoryThresholds.put(category, threshold);
+        }
+        thresholdsChanged |= pending != null;
+
+        List<Entry> affected = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (category.equals(entry.category)) {
+                affected.add(entry);
+            }
+        }
+        return reevaluate(affected);
+    }
+
+    public synchronized Map<Long, Integer> getProductThresholds() {
+        return Map.copyOf(productThresholds);
+    }
+
+    public synchronized Map<String, Integer> getCategoryThresholds() {
+        return Map.copyOf(categoryThresholds);
+    }
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    private List<LowStockAlert> reevaluate(List<Entry> affected) {
+        List<LowStockAlert> alerts = new ArrayList<>();
+        for (Entry entry : affected) {
+            boolean wasLow = entry.low;
+            removeEntry(entry.id);
+            addEntry(entry);
+            alerts.addAll(transitions(wasLow, entry));
+        }
+        return alerts;
+    }
+
+    private List<LowStockAlert> transitions(boolean wasLow, Entry entry) {
+        if (!wasLow && entry.low) {
+            return List.of(alert(LowStockAlert.Type.LOW_STOCK, entry));
+        }
+        if (wasLow && !entry.low) {
+            return List.of(alert(LowStockAlert.Type.RESOLVED, entry));
+        }
+        return List.of();
+    }
+
+    private void addEntry(Entry entry) {
+        entries.put(entry.id, entry);
+        entry.low = false;
+        if (!entry.available) {
+            return;
+        }
+
+        byQuantity.add(entry);
+        if (entry.quantity < thresholdFor(entry)) {
+            entry.low = true;
+            lowStock.add(entry);
+        }
+    }
+
+    private Entry removeEntry(Long productId) {
+        Entry entry = entries.remove(productId);
+        if (entry != null) {
+            byQuantity.remove(entry);
+            lowStock.remove(entry);
+        }
+        return entry;
+    }
+
+    private int thresholdFor(Entry entry) {
+        return thresholdFor(entry, productThresholds, categoryThresholds);
+    }
+
+    private int thresholdFor(Entry entry, Map<Long, Integer> productOverrides, Map<String, Integer> categoryOverrides) {
+        Integer threshold = productOverrides.get(entry.id);
+        if (threshold == null) {
+            threshold = categoryOverrides.get(entry.category);
+        }
+        return threshold != null ? threshold : defaultThreshold;
+    }
+
+    private static Entry toEntry(ProductSnapshot product) {
+        return new Entry(product.getId(), product.getName(), product.getCategory(),
+                product.getQuantity() != null ? product.getQuantity() : 0, product.isAvailable());
+    }
+
+    private LowStockAlert alert(LowStockAlert.Type type, Entry entry) {
+        return new LowStockAlert(type, entry.id, entry.name, entry.category, entry.quantity, thresholdFor(entry));
+    }
+
+    private static final class PendingChange {
+        private final Long productId;
+        // Null for a removal
+        private final ProductSnapshot product;
+
+        private PendingChange(Long productId, ProductSnapshot product) {
+            this.productId = productId;
+            this.product = product;
+        }
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String category;
+        private final int quantity;
+        private final boolean available;
+        private boolean low;
+
+        private Entry(Long id, String name, String category, int quantity, boolean available) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.quantity = quantity;
+            this.available = available;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.storeinventory.viewer.alert;
+
+import com.storeinventory.viewer.cache.CatalogVersion;
+import com.storeinventory.viewer.entity.CategoryStockThreshold;
+import com.storeinventory.viewer.entity.ProductStockThreshold;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import com.storeinventory.viewer.repository.CategoryStockThresholdRepository;
+import com.storeinventory.viewer.repository.ProductStockThresholdRepository;
+import com.storeinventory.viewer.service.ProductService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Keeps the low-stock index in step with the products table and pushes threshold crossings to subscribers.
+// Threshold overrides are stored in the database and loaded into the index on startup.
+@Component
+public class LowStockMonitor {
+
+    private static final String ALERT_EVENT = "low-stock";
+
+    private final LowStockIndex index;
+    private final ProductService productService;
+    private final ProductStockThresholdRepository productThresholdRepository;
+    private final CategoryStockThresholdRepository categoryThresholdRepository;
+    private final long subscriptionTimeout;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    // Single sender thread: alerts keep their order and slow clients never block the committing request
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "low-stock-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    public LowStockMonitor(LowStockIndex index,
+                           ProductService productService,
+                           ProductStockThresholdRepository productThresholdRepository,
+                           CategoryStockThresholdRepository categoryThresholdRepository,
+                           @Value("${product.low-stock.subscription-timeout:PT30M}") Duration subscriptionTimeout) {
+        this.index = index;
+        this.productService = productService;
+        this.productThresholdRepository = productThresholdRepository;
+        this.categoryThresholdRepository = categoryThresholdRepository;
+        this.subscriptionTimeout = subscriptionTimeout.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        index.beginRebuild();
+        try {
+            index.loadThresholds(loadProductThresholds(), loadCategoryThresholds());
+            List<ProductSnapshot> current = new ArrayList<>();
+            productService.exportProducts(false, product -> current.add(ProductSnapshot.of(product)));
+            index.finishRebuild(current);
+        } catch (RuntimeException e) {
+            index.abortRebuild();
+            throw e;
+        }
+        log.info("Indexed {} products for low-stock alerts in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        publish(event.getAfter() != null ? index.update(event.getAfter()) : index.remove(event.getProductId()));
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        List<LowStockAlert> alerts = new ArrayList<>();
+        for (ProductSnapshot product : event.getCreated()) {
+            alerts.addAll(index.update(product));
+        }
+        publish(alerts);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(subscriptionTimeout);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+
+        // New subscribers start from the current state, then receive crossings as they happen.
+        // Reading the state on the sender thread means no crossing queued after it can be missed.
+        dispatcher.execute(() -> {
+            for (LowStockAlert alert : index.currentAlerts()) {
+                if (!send(emitter, alert)) {
+                    return;
+                }
+            }
+            subscribers.add(emitter);
+        });
+        return emitter;
+    }
+
+    // Null clears the override; stored first so the index never holds a threshold that was not saved
+    public void setProductThreshold(Long productId, Integer threshold) {
+        if (threshold == null) {
+            productThresholdRepository.deleteById(productId);
+        } else {
+            if (!productService.productExistsById(productId)) {
+                throw new IllegalArgumentException("Product not found with id: " + productId);
+            }
+            productThresholdRepository.save(new ProductStockThreshold(productId, threshold));
+        }
+        publish(index.setProductThreshold(productId, threshold));
+    }
+
+    public void setCategoryThreshold(String category, Integer threshold) {
+        if (threshold == null) {
+            categoryThresholdRepository.deleteById(category);
+        } else {
+            categoryThresholdRepository.save(new CategoryStockThreshold(category, threshold));
+        }
+        publish(index.setCategoryThreshold(category, threshold));
+    }
+
+    private Map<Long, Integer> loadProductThresholds() {
+        Map<Long, Integer> thresholds = new HashMap<>();
+        for (ProductStockThreshold threshold : productThresholdRepository.findAll()) {
+            thresholds.put(threshold.getProductId(), threshold.getThreshold());
+        }
+        return thresholds;
+    }
+
+    private Map<String, Integer> loadCategoryThresholds() {
+        Map<String, Integer> thresholds = new HashMap<>();
+        for (CategoryStockThreshold threshold : categoryThresholdRepository.findAll()) {
+            thresholds.put(threshold.getCategory(), threshold.getThreshold());
+        }
+        return thresholds;
+    }
+
+    private void publish(List<LowStockAlert> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+
+        alerts.forEach(alert -> log.info("Low-stock alert: {}", alert));
+        dispatcher.execute(() -> {
+            for (SseEmitter emitter : subscribers) {
+                for (LowStockAlert alert : alerts) {
+                    if (!send(emitter, alert)) {
+                        subscribers.remove(emitter);
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    private boolean send(SseEmitter emitter, LowStockAlert alert) {
+        try {
+            emitter.send(SseEmitter.event().name(ALERT_EVENT).data(alert));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping low-stock subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+}
@@ -0,0 +1,74 @@
+package com.storeinventory.viewer.cache;
+
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import com.storeinventory.viewer.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Counter bumped after every committed product change; public catalog ETags are derived from it.
+// The startup time is part of the tag so a restarted instance never matches a tag from before.
+@Component
+public class CatalogVersion {
+
+    // Order of the listeners whose state backs public responses (caches, search index, ...). They run
+    // before the version is bumped, so a request that sees the new ETag also sees the new data.
+    public static final int BEFORE_VERSION_BUMP = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final ProductRepository productRepository;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile long version;
+    private volatile long lastModified = System.currentTimeMillis();
+    private static final Logger log = LoggerFactory.getLogger(CatalogVersion.class);
+
+    public CatalogVersion(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // Last-Modified starts from the newest product rather than the startup time
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDateTime latest = productRepository.findLatestUpdate();
+        if (latest != null) {
+            lastModified = toMillis(latest);
+        }
+        log.info("Catalog version {} last modified at {}", getETag(), lastModified);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        version++;
+        LocalDateTime updatedAt = event.getAfter() != null ? event.getAfter().getUpdatedAt() : null;
+        long changedAt = updatedAt != null ? toMillis(updatedAt) : System.currentTimeMillis();
+        lastModified = Math.max(lastModified, changedAt);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductsImported(ProductsImportedEvent event) {
+        version++;
+        lastModified = Math.max(lastModified, System.currentTimeMillis());
+    }
+
+    public String getETag() {
+        return "\"" + epoch + "." + version + "\"";
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
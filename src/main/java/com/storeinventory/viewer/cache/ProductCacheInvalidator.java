@@ -0,0 +1,95 @@
+package com.storeinventory.viewer.cache;
+
+import com.storeinventory.viewer.config.CacheConfig;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+@Component
+public class ProductCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheInvalidator.class);
+
+    public ProductCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Runs after commit so a concurrent reader cannot re-populate the cache with the old row
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        log.debug("Invalidating product caches for {}", event);
+
+        ProductSnapshot before = event.getBefore();
+        ProductSnapshot after = event.getAfter();
+
+        evict(CacheConfig.PRODUCTS, event.getProductId());
+
+        if (before == null || after == null || !Objects.equals(before.getCategory(), after.getCategory())) {
+            clear(CacheConfig.PRODUCT_CATEGORIES);
+        }
+
+        if ((before != null && before.isAvailable()) || (after != null && after.isAvailable())) {
+            clear(CacheConfig.AVAILABLE_PRODUCTS);
+        }
+
+        evictCategory(before);
+        evictCategory(after);
+    }
+
+    // New products only: existing entries stay valid apart from the lists they now belong to
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        log.debug("Invalidating product caches for {}", event);
+
+        clear(CacheConfig.PRODUCT_CATEGORIES);
+        clear(CacheConfig.AVAILABLE_PRODUCTS);
+
+        Set<String> evictedCategories = new HashSet<>();
+        for (ProductSnapshot product : event.getCreated()) {
+            evict(CacheConfig.PRODUCTS, product.getId());
+            if (evictedCategories.add(product.getCategory())) {
+                evict(CacheConfig.PRODUCTS_BY_CATEGORY, product.getCategory());
+                evict(CacheConfig.AVAILABLE_PRODUCTS_BY_CATEGORY, product.getCategory());
+            }
+        }
+    }
+
+    private void evictCategory(ProductSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+
+        evict(CacheConfig.PRODUCTS_BY_CATEGORY, snapshot.getCategory());
+        if (snapshot.isAvailable()) {
+            evict(CacheConfig.AVAILABLE_PRODUCTS_BY_CATEGORY, snapshot.getCategory());
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.storeinventory.viewer.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Cache names (sizes and TTL are configured through spring.cache.caffeine.spec)
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_CATEGORIES = "productCategories";
+    public static final String AVAILABLE_PRODUCTS = "availableProducts";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String AVAILABLE_PRODUCTS_BY_CATEGORY = "availableProductsByCategory";
+}
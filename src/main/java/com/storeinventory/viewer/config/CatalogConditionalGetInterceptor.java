@@ -0,0 +1,43 @@
+package com.storeinventory.viewer.config;
+
+import com.storeinventory.viewer.cache.CatalogVersion;
+import com.storeinventory.viewer.controller.ProductExportWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Answers If-None-Match / If-Modified-Since for public catalog reads from the catalog version,
+// before the handler runs. The version is read before the handler queries the database, so a
+// change committed in between can only make the tag older than the body, never newer.
+@Component
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersion catalogVersion;
+
+    public CatalogConditionalGetInterceptor(CatalogVersion catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+
+        String etag = catalogVersion.getETag();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(ProductExportWriter.APPLICATION_NDJSON_VALUE)) {
+            // Same URL, different representation
+            etag = etag.substring(0, etag.length() - 1) + "-ndjson\"";
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        // Writes the ETag/Last-Modified headers and, on a match, a bodiless 304
+        return !new ServletWebRequest(request, response).checkNotModified(etag, catalogVersion.getLastModified());
+    }
+}
@@ -1,5 +1,6 @@
 package com.storeinventory.viewer.config;
 
+import com.storeinventory.viewer.security.JwtPrincipal;
 import com.storeinventory.viewer.service.AuthenticationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -16,7 +17,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -38,15 +40,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (jwt != null && authenticationService.validateToken(jwt)) {
-                String username = authenticationService.getUsernameFromToken(jwt);
+            if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Single verification per request; repeat tokens are served from the verified-token cache
+                Optional<JwtPrincipal> principal = authenticationService.resolveToken(jwt);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (principal.isPresent() && principal.get().getUsername() != null) {
+                    String username = principal.get().getUsername();
+                    // Authorities come straight from the token's role claim; no user lookup per request
+                    String role = principal.get().getRole();
+                    List<SimpleGrantedAuthority> authorities = role != null
+                            ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                            : List.of();
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     username,
                                     null,
-                                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                    authorities
                             );
 
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
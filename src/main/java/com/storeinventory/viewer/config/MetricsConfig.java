@@ -0,0 +1,46 @@
+package com.storeinventory.viewer.config;
+
+import com.storeinventory.viewer.metrics.ProfilingDataSource;
+import com.storeinventory.viewer.metrics.QueryCounter;
+import com.storeinventory.viewer.metrics.QueryStatistics;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on service classes
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    @ConditionalOnProperty(name = "metrics.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<QueryStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, statistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,5 +1,11 @@
 package com.storeinventory.viewer.config;
 
+import com.storeinventory.viewer.security.BoundedPasswordEncoder;
+import com.storeinventory.viewer.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -24,6 +31,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
@@ -37,11 +45,14 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/index.html", "/style.css", "/script.js", "/favicon.ico").permitAll()
-                        .requestMatchers("/css/**", "/js/**", "/images/**", "/webjars/**").permitAll()
+                        .requestMatchers("/assets/**", "/css/**", "/js/**", "/images/**", "/webjars/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Metrics, caches and captured query plans (with bound values) are for admins only
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -63,9 +74,38 @@ public class SecurityConfig {
         return source;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // BCrypt on a bounded pool; hash-threads=0 means half the available cores. Without an explicit
+    // max-wait, a queued hash may wait as long as the pool needs to drain a full queue at this strength
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hash-threads:0}") int threads,
+                                           @Value("${security.password.queue-capacity:32}") int queueCapacity,
+                                           @Value("${security.password.max-wait:#{null}}") Duration maxWait) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        Duration hashTime = measureHash(bcrypt);
+        Duration queueDrain = hashTime.multipliedBy((queueCapacity + poolSize - 1) / poolSize + 1);
+        if (maxWait == null) {
+            maxWait = queueDrain;
+        } else if (maxWait.compareTo(hashTime) < 0) {
+            log.warn("security.password.max-wait {} is shorter than one BCrypt hash at strength {} ({} ms); " +
+                    "most queued sign-ins will be rejected", maxWait, strength, hashTime.toMillis());
+        }
+        log.info("Password hashing: strength {}, ~{} ms per hash, {} threads, queue {}, max queue wait {} ms",
+                strength, hashTime.toMillis(), poolSize, queueCapacity, maxWait.toMillis());
+
+        return new BoundedPasswordEncoder(new TimedPasswordEncoder(bcrypt, meterRegistry), poolSize, queueCapacity,
+                maxWait, meterRegistry);
+    }
+
+    // The second of two hashes, so class loading and the cold JIT do not count
+    private static Duration measureHash(PasswordEncoder bcrypt) {
+        bcrypt.encode("calibration");
+        long start = System.nanoTime();
+        bcrypt.encode("calibration");
+        return Duration.ofNanos(System.nanoTime() - start);
     }
 
     @Bean
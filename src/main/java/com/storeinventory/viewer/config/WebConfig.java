@@ -0,0 +1,54 @@
+package com.storeinventory.viewer.config;
+
+import com.storeinventory.viewer.metrics.QueryCountInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+    private final CatalogConditionalGetInterceptor catalogConditionalGetInterceptor;
+
+    public WebConfig(QueryCountInterceptor queryCountInterceptor,
+                     CatalogConditionalGetInterceptor catalogConditionalGetInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+        this.catalogConditionalGetInterceptor = catalogConditionalGetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Registered first so requests answered with 304 are counted too
+        registry.addInterceptor(queryCountInterceptor)
+                .addPathPatterns("/api/**");
+
+        // The change feed is a live stream, not a cacheable representation
+        registry.addInterceptor(catalogConditionalGetInterceptor)
+                .addPathPatterns("/api/public/products", "/api/public/products/**")
+                .excludePathPatterns("/api/public/products/changes");
+    }
+
+    // Both handlers pick the .br/.gz variant the client accepts (see StaticAssetPipeline)
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Fingerprinted: new content means a new URL, so these never need revalidating
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // index.html names the current fingerprints, so it is always revalidated
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
@@ -1,18 +1,34 @@
 package com.storeinventory.viewer.controller;
 
+import com.storeinventory.viewer.dto.BulkUpdateResult;
+import com.storeinventory.viewer.dto.CategoryStats;
+import com.storeinventory.viewer.dto.ProductPatch;
+import com.storeinventory.viewer.dto.StockLevel;
 import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.service.InventoryService;
+import com.storeinventory.viewer.service.ProductImportService;
 import com.storeinventory.viewer.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
@@ -22,11 +38,28 @@ import java.util.Optional;
 public class AdminProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final InventoryService inventoryService;
+    private final ProductExportWriter productExportWriter;
     private static final Logger log = LoggerFactory.getLogger(AdminProductController.class);
 
     // ✅ Constructor — replaces Lombok @RequiredArgsConstructor
-    public AdminProductController(ProductService productService) {
+    public AdminProductController(ProductService productService,
+                                  ProductImportService productImportService,
+                                  InventoryService inventoryService,
+                                  ProductExportWriter productExportWriter) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.inventoryService = inventoryService;
+        this.productExportWriter = productExportWriter;
+    }
+
+    @GetMapping(produces = ProductExportWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllProducts() {
+        log.info("Admin API: Streaming all products as NDJSON");
+        return ResponseEntity.ok()
+                .contentType(ProductExportWriter.APPLICATION_NDJSON)
+                .body(productExportWriter.ndjson(false));
     }
 
     @GetMapping
@@ -62,6 +95,41 @@ public class AdminProductController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importProducts(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(required = false) String format) {
+        log.info("Admin API: Importing products from upload '{}' ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        try (InputStream input = file.getInputStream()) {
+            ProductImportService.Format importFormat = resolveImportFormat(format, file.getOriginalFilename(), file.getContentType());
+            return ResponseEntity.ok(productImportService.importProducts(input, importFormat));
+        } catch (IllegalArgumentException e) {
+            log.error("Error importing products: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error importing products: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error importing products");
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", ProductExportWriter.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importProductsFromBody(HttpServletRequest request) {
+        log.info("Admin API: Importing products from {} request body", request.getContentType());
+
+        try (InputStream input = request.getInputStream()) {
+            ProductImportService.Format importFormat = resolveImportFormat(null, null, request.getContentType());
+            return ResponseEntity.ok(productImportService.importProducts(input, importFormat));
+        } catch (IllegalArgumentException e) {
+            log.error("Error importing products: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error importing products: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error importing products");
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateProduct(@PathVariable Long id, @Valid @RequestBody Product productDetails) {
         log.info("Admin API: Updating product with id: {}", id);
@@ -72,6 +140,10 @@ public class AdminProductController {
         } catch (IllegalArgumentException e) {
             log.error("Error updating product: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Concurrent update of product {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Product was modified by another request; reload and retry");
         } catch (Exception e) {
             log.error("Unexpected error updating product: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -79,6 +151,20 @@ public class AdminProductController {
         }
     }
 
+    @PatchMapping
+    public ResponseEntity<?> bulkUpdateProducts(@RequestBody List<ProductPatch> patches) {
+        log.info("Admin API: Bulk updating {} products", patches.size());
+
+        try {
+            BulkUpdateResult result = productService.bulkUpdateProducts(patches);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Unexpected error bulk updating products: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error updating products");
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteProduct(@PathVariable Long id) {
         log.info("Admin API: Deleting product with id: {}", id);
@@ -104,12 +190,19 @@ public class AdminProductController {
     }
 
     @GetMapping("/low-stock")
-    public ResponseEntity<List<Product>> getLowStockProducts(@RequestParam(defaultValue = "10") Integer threshold) {
-        log.info("Admin API: Fetching low stock products with threshold: {}", threshold);
+    public ResponseEntity<List<Product>> getLowStockProducts(@RequestParam(required = false) Integer threshold) {
+        log.info("Admin API: Fetching low stock products with threshold: {}", threshold != null ? threshold : "configured");
         List<Product> products = productService.getLowStockProducts(threshold);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CategoryStats>> getCategoryStatistics() {
+        log.debug("Admin API: Fetching category statistics");
+        List<CategoryStats> statistics = productService.getCategoryStatistics();
+        return ResponseEntity.ok(statistics);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
         log.info("Admin API: Searching products with name: {}", name);
@@ -117,24 +210,99 @@ public class AdminProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/search/filter")
+    public ResponseEntity<Page<Product>> searchProductsWithFilters(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        log.info("Admin API: Searching products - name: {}, category: {}, price: {}-{}, available: {}, page: {}, size: {}, sort: {}",
+                name, category, minPrice, maxPrice, available, page, size, sort);
+        Pageable pageable = PageRequest.of(page, size, ProductSortParser.parse(sort));
+        Page<Product> products = productService.searchProductsWithFilters(name, category, minPrice, maxPrice, available, pageable);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<Page<Product>> searchCatalog(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Admin API: Full-text search for '{}' - page: {}, size: {}", q, page, size);
+        Page<Product> products = productService.searchCatalog(q, false, PageRequest.of(page, size));
+        return ResponseEntity.ok(products);
+    }
+
     @PatchMapping("/{id}/availability")
     public ResponseEntity<?> updateProductAvailability(@PathVariable Long id, @RequestParam Boolean available) {
         log.info("Admin API: Updating product availability for id: {} to {}", id, available);
 
         try {
-            Optional<Product> productOptional = productService.getProductById(id);
-            if (productOptional.isPresent()) {
-                Product product = productOptional.get();
-                product.setAvailable(available);
-                Product updatedProduct = productService.updateProduct(id, product);
-                return ResponseEntity.ok(updatedProduct);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+            Product updatedProduct = productService.updateProductAvailability(id, available);
+            return ResponseEntity.ok(updatedProduct);
+        } catch (IllegalArgumentException e) {
+            log.error("Error updating product availability: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             log.error("Error updating product availability: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error updating product availability");
         }
     }
+
+    @PostMapping("/{id}/stock/{operation}")
+    public ResponseEntity<?> adjustStock(@PathVariable Long id,
+                                         @PathVariable String operation,
+                                         @RequestParam int amount) {
+        log.info("Admin API: Stock {} of {} for product id: {}", operation, amount, id);
+
+        InventoryService.Operation stockOperation;
+        try {
+            stockOperation = InventoryService.Operation.valueOf(operation.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unsupported stock operation: " + operation);
+        }
+        if (amount <= 0) {
+            return ResponseEntity.badRequest().body("Amount must be greater than 0");
+        }
+
+        try {
+            StockLevel stockLevel = inventoryService.adjustStock(id, stockOperation, amount);
+            return ResponseEntity.ok(stockLevel);
+        } catch (IllegalArgumentException e) {
+            log.error("Error adjusting stock: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            log.error("Error adjusting stock: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error adjusting stock: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error adjusting stock");
+        }
+    }
+
+    private ProductImportService.Format resolveImportFormat(String format, String filename, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return ProductImportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+        }
+
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+            return ProductImportService.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.startsWith(ProductExportWriter.APPLICATION_NDJSON_VALUE)) {
+            return ProductImportService.Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot determine import format; pass format=csv or format=ndjson");
+    }
 }
@@ -2,18 +2,28 @@ package com.storeinventory.viewer.controller;
 
 import com.storeinventory.viewer.dto.AuthenticationRequest;
 import com.storeinventory.viewer.dto.AuthenticationResponse;
+import com.storeinventory.viewer.dto.RefreshTokenRequest;
+import com.storeinventory.viewer.dto.TokenRevocationRequest;
 import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.security.PasswordHashingRejectedException;
 import com.storeinventory.viewer.service.AuthenticationService;
+import com.storeinventory.viewer.service.DuplicateUserException;
 import com.storeinventory.viewer.service.UserService;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -37,6 +47,9 @@ public class AuthenticationController {
         try {
             AuthenticationResponse response = authenticationService.authenticate(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Login rejected for user {}: {}", request.getUsername(), e.getMessage());
+            return tooManyRequests(e);
         } catch (Exception e) {
             log.error("Authentication failed for user: {}", request.getUsername(), e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -44,12 +57,55 @@ public class AuthenticationController {
         }
     }
 
+    // Trades a refresh token for a new access/refresh pair carrying the user's current role
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Token refresh request");
+
+        try {
+            return ResponseEntity.ok(authenticationService.refresh(request.getRefreshToken()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Token refresh failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new AuthenticationResponse(null, null, e.getMessage()));
+        }
+    }
+
+    // Revokes the caller's access token and, when supplied, its refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) RefreshTokenRequest request) {
+        log.info("Logout request");
+
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            revokeQuietly(authorization.substring(7));
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            revokeQuietly(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(new AuthenticationResponse(null, null, "Logged out"));
+    }
+
+    @PostMapping("/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revoke(@Valid @RequestBody TokenRevocationRequest request) {
+        log.info("Token revocation request");
+
+        try {
+            boolean revoked = authenticationService.revokeToken(request.getToken());
+            return ResponseEntity.ok(revoked ? "Token revoked" : "Token already expired");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody User user) {
         log.info("Registration attempt for user: {}", user.getUsername());
 
         try {
-            User createdUser = userService.createUser(user);
+            // Only the credentials are taken from the client; role and token version are never self-assigned
+            User createdUser = userService.createUser(new User(user.getUsername(), user.getEmail(), user.getPassword(), null));
 
             // Return success response without auto-login
             AuthenticationResponse response = new AuthenticationResponse(
@@ -59,6 +115,13 @@ public class AuthenticationController {
             );
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("Registration rejected for user {}: {}", user.getUsername(), e.getMessage());
+            return tooManyRequests(e);
+        } catch (DuplicateUserException e) {
+            log.info("Registration conflict on {}: {}", e.getField(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("field", e.getField(), "message", e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -69,6 +132,26 @@ public class AuthenticationController {
         }
     }
 
+    // Signup form type-ahead: answered from memory, never from the users table
+    @GetMapping("/availability")
+    public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+                                               @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            return ResponseEntity.badRequest().body("Provide a username and/or email to check");
+        }
+
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        if (username != null) {
+            availability.put("username", userService.isUsernameAvailable(username));
+        }
+        if (email != null) {
+            availability.put("email", userService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(availability);
+    }
+
     @PostMapping("/validate")
     public ResponseEntity<?> validateToken(@RequestParam String token) {
         log.info("Token validation request");
@@ -80,4 +163,19 @@ public class AuthenticationController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
         }
     }
+
+    private ResponseEntity<?> tooManyRequests(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new AuthenticationResponse(null, null, e.getMessage()));
+    }
+
+    // Logout succeeds even for malformed or already-expired tokens
+    private void revokeQuietly(String token) {
+        try {
+            authenticationService.revokeToken(token);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring unrevocable token on logout: {}", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.storeinventory.viewer.controller;
+
+import com.storeinventory.viewer.alert.LowStockIndex;
+import com.storeinventory.viewer.alert.LowStockMonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/products/low-stock")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class LowStockAlertController {
+
+    private final LowStockMonitor lowStockMonitor;
+    private final LowStockIndex lowStockIndex;
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlertController.class);
+
+    public LowStockAlertController(LowStockMonitor lowStockMonitor, LowStockIndex lowStockIndex) {
+        this.lowStockMonitor = lowStockMonitor;
+        this.lowStockIndex = lowStockIndex;
+    }
+
+    @GetMapping(value = "/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        log.info("Admin API: Subscribing to low-stock alerts");
+        return lowStockMonitor.subscribe();
+    }
+
+    @GetMapping("/thresholds")
+    public ResponseEntity<Map<String, Object>> getThresholds() {
+        log.info("Admin API: Fetching low-stock thresholds");
+        return ResponseEntity.ok(Map.of(
+                "default", lowStockIndex.getDefaultThreshold(),
+                "categories", lowStockIndex.getCategoryThresholds(),
+                "products", lowStockIndex.getProductThresholds()));
+    }
+
+    @PutMapping("/thresholds/products/{id}")
+    public ResponseEntity<?> setProductThreshold(@PathVariable Long id, @RequestParam int threshold) {
+        log.info("Admin API: Setting low-stock threshold of product {} to {}", id, threshold);
+        if (threshold < 0) {
+            return ResponseEntity.badRequest().body("Threshold cannot be negative");
+        }
+        try {
+            lowStockMonitor.setProductThreshold(id, threshold);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            log.error("Error setting low-stock threshold: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/thresholds/products/{id}")
+    public ResponseEntity<?> clearProductThreshold(@PathVariable Long id) {
+        log.info("Admin API: Clearing low-stock threshold of product {}", id);
+        lowStockMonitor.setProductThreshold(id, null);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/thresholds/categories/{category}")
+    public ResponseEntity<?> setCategoryThreshold(@PathVariable String category, @RequestParam int threshold) {
+        log.info("Admin API: Setting low-stock threshold of category {} to {}", category, threshold);
+        if (threshold < 0) {
+            return ResponseEntity.badRequest().body("Threshold cannot be negative");
+        }
+        lowStockMonitor.setCategoryThreshold(category, threshold);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/thresholds/categories/{category}")
+    public ResponseEntity<?> clearCategoryThreshold(@PathVariable String category) {
+        log.info("Admin API: Clearing low-stock threshold of category {}", category);
+        lowStockMonitor.setCategoryThreshold(category, null);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.storeinventory.viewer.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Writes the catalog as newline-delimited JSON straight from a database cursor
+@Component
+public class ProductExportWriter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    // Flush to the client every N rows so bytes start flowing immediately
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private static final Logger log = LoggerFactory.getLogger(ProductExportWriter.class);
+
+    public ProductExportWriter(ProductService productService, ObjectMapper objectMapper) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody ndjson(boolean availableOnly) {
+        return outputStream -> {
+            ObjectWriter writer = objectMapper.writerFor(Product.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+
+                productService.exportProducts(availableOnly, product -> {
+                    try {
+                        writer.writeValue(generator, product);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                generator.flush();
+                log.info("Exported {} products", written[0]);
+            } catch (UncheckedIOException e) {
+                log.warn("Product export aborted: {}", e.getMessage());
+                throw e.getCause();
+            }
+        };
+    }
+}
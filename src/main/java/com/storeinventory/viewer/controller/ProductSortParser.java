@@ -0,0 +1,39 @@
+package com.storeinventory.viewer.controller;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Parses "field,direction;field,direction" sort parameters against the sortable product columns
+final class ProductSortParser {
+
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("id", "name", "category", "price", "quantity", "createdAt", "updatedAt");
+
+    private ProductSortParser() {}
+
+    static Sort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String clause : sort.split(";")) {
+            String[] parts = clause.trim().split(",");
+            String field = parts[0].trim();
+
+            if (!SORTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Cannot sort products by '" + field + "'");
+            }
+
+            Sort.Direction direction = parts.length > 1
+                    ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction in '" + clause + "'"))
+                    : Sort.Direction.ASC;
+            orders.add(new Sort.Order(direction, field));
+        }
+        return Sort.by(orders);
+    }
+}
@@ -1,18 +1,29 @@
 package com.storeinventory.viewer.controller;
 
+import com.storeinventory.viewer.dto.ScrollResponse;
 import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.feed.ProductChangeFeed;
 import com.storeinventory.viewer.service.ProductService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -22,27 +33,77 @@ public class PublicProductController {
 
     private static final Logger log = LoggerFactory.getLogger(PublicProductController.class);
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final ProductService productService;
+    private final ProductExportWriter productExportWriter;
+    private final ProductChangeFeed productChangeFeed;
 
     // ✅ Manual constructor (replaces @RequiredArgsConstructor)
-    public PublicProductController(ProductService productService) {
+    public PublicProductController(ProductService productService,
+                                   ProductExportWriter productExportWriter,
+                                   ProductChangeFeed productChangeFeed) {
         this.productService = productService;
+        this.productExportWriter = productExportWriter;
+        this.productChangeFeed = productChangeFeed;
+    }
+
+    @GetMapping(produces = ProductExportWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllProducts() {
+        log.info("Public API: Streaming all products as NDJSON");
+        return ResponseEntity.ok()
+                .contentType(ProductExportWriter.APPLICATION_NDJSON)
+                .body(productExportWriter.ndjson(false));
     }
 
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        log.info("Public API: Fetching all products");
+    public ResponseEntity<List<?>> getAllProducts(@RequestParam(required = false) String view) {
+        log.info("Public API: Fetching all products (view: {})", view);
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(productService.getProductSummaries(null, null));
+        }
         List<Product> products = productService.getAllProducts();
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<Product>> getAvailableProducts() {
-        log.info("Public API: Fetching available products");
+    public ResponseEntity<List<?>> getAvailableProducts(@RequestParam(required = false) String view) {
+        log.info("Public API: Fetching available products (view: {})", view);
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(productService.getProductSummaries(null, true));
+        }
         List<Product> products = productService.getAvailableProducts();
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping(value = "/available", produces = ProductExportWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAvailableProducts() {
+        log.info("Public API: Streaming available products as NDJSON");
+        return ResponseEntity.ok()
+                .contentType(ProductExportWriter.APPLICATION_NDJSON)
+                .body(productExportWriter.ndjson(true));
+    }
+
+    // EventSource sends Last-Event-ID on reconnect; lastEventId lets clients resume across page loads
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        String position = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        log.debug("Public API: Subscribing to product changes after event '{}'", position);
+
+        Long after = null;
+        if (position != null && !position.isBlank()) {
+            try {
+                after = Long.valueOf(position.trim());
+            } catch (NumberFormatException e) {
+                // Unknown position: the feed will ask the client to reload
+                after = -1L;
+            }
+        }
+        return productChangeFeed.subscribe(after);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
         log.info("Public API: Fetching product by id: {}", id);
@@ -53,8 +114,12 @@ public class PublicProductController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
-        log.info("Public API: Fetching products by category: {}", category);
+    public ResponseEntity<List<?>> getProductsByCategory(@PathVariable String category,
+                                                         @RequestParam(required = false) String view) {
+        log.info("Public API: Fetching products by category: {} (view: {})", category, view);
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(productService.getProductSummaries(category, true));
+        }
         List<Product> products = productService.getAvailableProductsByCategory(category);
         return ResponseEntity.ok(products);
     }
@@ -73,39 +138,130 @@ public class PublicProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/search/text")
+    public ResponseEntity<Page<Product>> searchCatalog(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Public API: Full-text search for '{}' - page: {}, size: {}", q, page, size);
+        Page<Product> products = productService.searchCatalog(q, true, PageRequest.of(page, size));
+        return ResponseEntity.ok(products);
+    }
+
     @GetMapping("/search/category")
     public ResponseEntity<List<Product>> searchProductsByCategoryAndName(
             @RequestParam String category,
             @RequestParam String name) {
         log.info("Public API: Searching products by category '{}' and name '{}'", category, name);
+        Page<Product> products = productService.searchProductsWithFilters(name, category, null, null, true, Pageable.unpaged());
+        return ResponseEntity.ok(products.getContent());
+    }
 
-        List<Product> products = productService.getAvailableProductsByCategory(category);
-
-        List<Product> filteredProducts = products.stream()
-                .filter(product -> product.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
+    @GetMapping("/search/category/page")
+    public ResponseEntity<Page<Product>> searchProductsByCategoryAndNameWithPagination(
+            @RequestParam String category,
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        log.info("Public API: Searching products by category '{}' and name '{}' - page: {}, size: {}", category, name, page, size);
+        Pageable pageable = PageRequest.of(page, size, ProductSortParser.parse(sort));
+        Page<Product> products = productService.searchProductsWithFilters(name, category, null, null, true, pageable);
+        return ResponseEntity.ok(products);
+    }
 
-        return ResponseEntity.ok(filteredProducts);
+    @GetMapping("/search/filter")
+    public ResponseEntity<Page<Product>> searchProductsWithFilters(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        log.info("Public API: Searching products - name: {}, category: {}, price: {}-{}, page: {}, size: {}, sort: {}",
+                name, category, minPrice, maxPrice, page, size, sort);
+        Pageable pageable = PageRequest.of(page, size, ProductSortParser.parse(sort));
+        Page<Product> products = productService.searchProductsWithFilters(name, category, minPrice, maxPrice, true, pageable);
+        return ResponseEntity.ok(products);
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<Product>> getProductsWithPagination(
+    public ResponseEntity<Page<?>> getProductsWithPagination(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        log.info("Public API: Fetching products with pagination - page: {}, size: {}", page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String view) {
+        log.info("Public API: Fetching products with pagination - page: {}, size: {}, view: {}", page, size, view);
         Pageable pageable = PageRequest.of(page, size);
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(productService.getProductSummariesWithPagination(null, true, pageable));
+        }
         Page<Product> products = productService.getAvailableProductsWithPagination(pageable);
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/category/{category}/page")
-    public ResponseEntity<Page<Product>> getProductsByCategoryWithPagination(
+    public ResponseEntity<Page<?>> getProductsByCategoryWithPagination(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        log.info("Public API: Fetching products by category '{}' with pagination - page: {}, size: {}", category, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String view) {
+        log.info("Public API: Fetching products by category '{}' with pagination - page: {}, size: {}, view: {}", category, page, size, view);
         Pageable pageable = PageRequest.of(page, size);
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(productService.getProductSummariesWithPagination(category, null, pageable));
+        }
         Page<Product> products = productService.getProductsByCategoryWithPagination(category, pageable);
         return ResponseEntity.ok(products);
     }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ScrollResponse<Product>> scrollProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Public API: Scrolling products after cursor '{}' - category: {}, available: {}, size: {}", after, category, available, size);
+
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Window<Product> window = productService.scrollProducts(category, available, decodeCursor(after), limit);
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(window.getContent().get(window.size() - 1))
+                : null;
+        return ResponseEntity.ok(new ScrollResponse<>(window.getContent(), nextCursor, window.hasNext()));
+    }
+
+    // view=summary selects the compact listing projection; view=full (default) returns entities
+    private static boolean isSummaryView(String view) {
+        if (view == null || view.isBlank() || view.equalsIgnoreCase("full")) {
+            return false;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported view: " + view);
+    }
+
+    // Cursor is the opaque base64url form of "<id>:<name>" for the last product of the previous window
+    private static String encodeCursor(Product product) {
+        String key = product.getId() + ":" + product.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetScrollPosition decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf(':');
+            Long id = Long.valueOf(key.substring(0, separator));
+            String name = key.substring(separator + 1);
+            return ScrollPosition.forward(Map.of("name", name, "id", id));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid scroll cursor");
+        }
+    }
 }
@@ -2,7 +2,10 @@ package com.storeinventory.viewer.dto;
 
 public class AuthenticationResponse {
     private String token;
+    private String refreshToken;
     private String username;
+    private String role;
+    private Long expiresIn; // seconds until the access token expires
     private String message;
 
     // Constructors
@@ -14,13 +17,32 @@ public class AuthenticationResponse {
         this.message = message;
     }
 
+    public AuthenticationResponse(String token, String refreshToken, String username, String role,
+                                  Long expiresIn, String message) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.username = username;
+        this.role = role;
+        this.expiresIn = expiresIn;
+        this.message = message;
+    }
+
     // Getters and Setters
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
     public String getUsername() { return username; }
     public void setUsername(String username) { this.username = username; }
 
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public Long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(Long expiresIn) { this.expiresIn = expiresIn; }
+
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
 }
\ No newline at end of file
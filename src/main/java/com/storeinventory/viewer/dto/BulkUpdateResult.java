@@ -0,0 +1,67 @@
+package com.storeinventory.viewer.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkUpdateResult {
+
+    public enum Status { UPDATED, NOT_FOUND, CONFLICT, INVALID }
+
+    private long updated;
+    private long notFound;
+    private long conflicts;
+    private long invalid;
+    private List<ItemResult> results = new ArrayList<>();
+
+    // Constructors
+    public BulkUpdateResult() {}
+
+    public void record(Long id, Status status, String message) {
+        switch (status) {
+            case UPDATED -> updated++;
+            case NOT_FOUND -> notFound++;
+            case CONFLICT -> conflicts++;
+            case INVALID -> invalid++;
+        }
+        results.add(new ItemResult(id, status, message));
+    }
+
+    // Getters and Setters
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+
+    public long getNotFound() { return notFound; }
+    public void setNotFound(long notFound) { this.notFound = notFound; }
+
+    public long getConflicts() { return conflicts; }
+    public void setConflicts(long conflicts) { this.conflicts = conflicts; }
+
+    public long getInvalid() { return invalid; }
+    public void setInvalid(long invalid) { this.invalid = invalid; }
+
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+
+    public static class ItemResult {
+        private Long id;
+        private Status status;
+        private String message;
+
+        public ItemResult() {}
+
+        public ItemResult(Long id, Status status, String message) {
+            this.id = id;
+            this.status = status;
+            this.message = message;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
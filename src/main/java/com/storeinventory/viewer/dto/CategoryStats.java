@@ -0,0 +1,52 @@
+package com.storeinventory.viewer.dto;
+
+public class CategoryStats {
+    private String category;
+    private long productCount;
+    private long totalQuantity;
+    private long availableCount;
+    private long lowStockCount;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double avgPrice;
+
+    // Constructors
+    public CategoryStats() {}
+
+    public CategoryStats(String category, long productCount, long totalQuantity, long availableCount,
+                         long lowStockCount, Double minPrice, Double maxPrice, Double avgPrice) {
+        this.category = category;
+        this.productCount = productCount;
+        this.totalQuantity = totalQuantity;
+        this.availableCount = availableCount;
+        this.lowStockCount = lowStockCount;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.avgPrice = avgPrice;
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getProductCount() { return productCount; }
+    public void setProductCount(long productCount) { this.productCount = productCount; }
+
+    public long getTotalQuantity() { return totalQuantity; }
+    public void setTotalQuantity(long totalQuantity) { this.totalQuantity = totalQuantity; }
+
+    public long getAvailableCount() { return availableCount; }
+    public void setAvailableCount(long availableCount) { this.availableCount = availableCount; }
+
+    public long getLowStockCount() { return lowStockCount; }
+    public void setLowStockCount(long lowStockCount) { this.lowStockCount = lowStockCount; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public Double getAvgPrice() { return avgPrice; }
+    public void setAvgPrice(Double avgPrice) { this.avgPrice = avgPrice; }
+}
@@ -0,0 +1,46 @@
+package com.storeinventory.viewer.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResult {
+
+    // Only the first errors are reported so a bad feed cannot blow up the response
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long totalRows;
+    private long imported;
+    private long skipped;
+    private List<String> errors = new ArrayList<>();
+
+    // Constructors
+    public ProductImportResult() {}
+
+    public void recordImported(int count) {
+        imported += count;
+    }
+
+    public void recordRow() {
+        totalRows++;
+    }
+
+    public void recordSkipped(long line, String message) {
+        skipped++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("line " + line + ": " + message);
+        }
+    }
+
+    // Getters and Setters
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
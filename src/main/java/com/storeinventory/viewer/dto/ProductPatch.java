@@ -0,0 +1,36 @@
+package com.storeinventory.viewer.dto;
+
+// Partial change for one product in a bulk update; null fields are left untouched
+public class ProductPatch {
+    private Long id;
+    private Double price;
+    private Integer quantity;
+    private Boolean available;
+
+    // Constructors
+    public ProductPatch() {}
+
+    public ProductPatch(Long id, Double price, Integer quantity, Boolean available) {
+        this.id = id;
+        this.price = price;
+        this.quantity = quantity;
+        this.available = available;
+    }
+
+    public boolean isEmpty() {
+        return price == null && quantity == null && available == null;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+}
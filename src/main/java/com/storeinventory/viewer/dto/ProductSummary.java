@@ -0,0 +1,37 @@
+package com.storeinventory.viewer.dto;
+
+// Grid/listing view of a product, selected column by column (no description, image or timestamps)
+public class ProductSummary {
+    private Long id;
+    private String name;
+    private String category;
+    private Double price;
+    private Boolean available;
+
+    // Constructors
+    public ProductSummary() {}
+
+    public ProductSummary(Long id, String name, String category, Double price, Boolean available) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.available = available;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+}
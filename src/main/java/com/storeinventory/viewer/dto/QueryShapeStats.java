@@ -0,0 +1,52 @@
+package com.storeinventory.viewer.dto;
+
+public class QueryShapeStats {
+    private String sql;
+    private long count;
+    private long slowCount;
+    private double totalMs;
+    private double avgMs;
+    private double maxMs;
+    private String lastSlowAt;
+    private String plan;
+
+    // Constructors
+    public QueryShapeStats() {}
+
+    public QueryShapeStats(String sql, long count, long slowCount, double totalMs, double maxMs,
+                           String lastSlowAt, String plan) {
+        this.sql = sql;
+        this.count = count;
+        this.slowCount = slowCount;
+        this.totalMs = totalMs;
+        this.avgMs = count > 0 ? totalMs / count : 0;
+        this.maxMs = maxMs;
+        this.lastSlowAt = lastSlowAt;
+        this.plan = plan;
+    }
+
+    // Getters and Setters
+    public String getSql() { return sql; }
+    public void setSql(String sql) { this.sql = sql; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public long getSlowCount() { return slowCount; }
+    public void setSlowCount(long slowCount) { this.slowCount = slowCount; }
+
+    public double getTotalMs() { return totalMs; }
+    public void setTotalMs(double totalMs) { this.totalMs = totalMs; }
+
+    public double getAvgMs() { return avgMs; }
+    public void setAvgMs(double avgMs) { this.avgMs = avgMs; }
+
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+    public String getLastSlowAt() { return lastSlowAt; }
+    public void setLastSlowAt(String lastSlowAt) { this.lastSlowAt = lastSlowAt; }
+
+    public String getPlan() { return plan; }
+    public void setPlan(String plan) { this.plan = plan; }
+}
@@ -0,0 +1,31 @@
+package com.storeinventory.viewer.dto;
+
+public class StockLevel {
+    private Long productId;
+    private Integer quantity;
+    private Integer reservedQuantity;
+    private Long version;
+
+    // Constructors
+    public StockLevel() {}
+
+    public StockLevel(Long productId, Integer quantity, Integer reservedQuantity, Long version) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Integer getReservedQuantity() { return reservedQuantity; }
+    public void setReservedQuantity(Integer reservedQuantity) { this.reservedQuantity = reservedQuantity; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
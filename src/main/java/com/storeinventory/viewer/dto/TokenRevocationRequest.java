@@ -0,0 +1,20 @@
+package com.storeinventory.viewer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class TokenRevocationRequest {
+
+    @NotBlank(message = "Token is required")
+    private String token;
+
+    // Constructors
+    public TokenRevocationRequest() {}
+
+    public TokenRevocationRequest(String token) {
+        this.token = token;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+}
@@ -0,0 +1,31 @@
+package com.storeinventory.viewer.entity;
+
+import jakarta.persistence.*;
+
+// Low-stock threshold shared by every product in a category that has none of its own
+@Entity
+@Table(name = "low_stock_category_thresholds")
+public class CategoryStockThreshold {
+
+    @Id
+    @Column(length = 50)
+    private String category;
+
+    @Column(nullable = false)
+    private Integer threshold;
+
+    // Constructors
+    public CategoryStockThreshold() {}
+
+    public CategoryStockThreshold(String category, Integer threshold) {
+        this.category = category;
+        this.threshold = threshold;
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+}
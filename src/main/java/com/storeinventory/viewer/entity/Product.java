@@ -5,11 +5,20 @@ import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+// Mirrors db/migration, which owns the schema; keep both in step
+@Table(name = "products", indexes = {
+        @Index(name = "ux_products_name", columnList = "name", unique = true),
+        @Index(name = "idx_products_category_available_name", columnList = "category, available, name"),
+        @Index(name = "idx_products_available_quantity", columnList = "available, quantity"),
+        @Index(name = "idx_products_price", columnList = "price"),
+        @Index(name = "idx_products_updated_at", columnList = "updated_at")
+})
 public class Product {
 
+    // Pooled sequence so Hibernate can batch inserts (IDENTITY forces one round trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Product name is required")
@@ -33,6 +42,11 @@ public class Product {
     @Column(nullable = false)
     private Integer quantity;
 
+    // Units held for pending orders; never counted in quantity
+    @Min(value = 0, message = "Reserved quantity cannot be negative")
+    @Column(name = "reserved_quantity", nullable = false)
+    private Integer reservedQuantity = 0;
+
     @Column(nullable = false)
     private Boolean available = true;
 
@@ -45,6 +59,11 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; bulk and stock UPDATE statements bump it explicitly
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructors
     public Product() {}
 
@@ -78,6 +97,9 @@ public class Product {
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
 
+    public Integer getReservedQuantity() { return reservedQuantity; }
+    public void setReservedQuantity(Integer reservedQuantity) { this.reservedQuantity = reservedQuantity; }
+
     public Boolean getAvailable() { return available; }
     public void setAvailable(Boolean available) { this.available = available; }
 
@@ -90,6 +112,9 @@ public class Product {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -109,6 +134,7 @@ public class Product {
                 ", category='" + category + '\'' +
                 ", price=" + price +
                 ", quantity=" + quantity +
+                ", reservedQuantity=" + reservedQuantity +
                 ", available=" + available +
                 '}';
     }
@@ -0,0 +1,31 @@
+package com.storeinventory.viewer.entity;
+
+import jakarta.persistence.*;
+
+// Low-stock threshold set for a single product; removed with the product
+@Entity
+@Table(name = "low_stock_product_thresholds")
+public class ProductStockThreshold {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer threshold;
+
+    // Constructors
+    public ProductStockThreshold() {}
+
+    public ProductStockThreshold(Long productId, Integer threshold) {
+        this.productId = productId;
+        this.threshold = threshold;
+    }
+
+    // Getters and Setters
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+}
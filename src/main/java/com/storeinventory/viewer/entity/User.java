@@ -10,6 +10,9 @@ import java.time.LocalDateTime;
 @Table(name = "users")
 public class User {
 
+    // Self-registered accounts; ADMIN is granted by an existing admin
+    public static final String DEFAULT_ROLE = "USER";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,7 +33,11 @@ public class User {
     private String password;
 
     @Column(nullable = false)
-    private String role = "ADMIN";
+    private String role = DEFAULT_ROLE;
+
+    // Bumped when the password changes; refresh tokens carrying an older value are refused
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -64,6 +71,9 @@ public class User {
     public String getRole() { return role; }
     public void setRole(String role) { this.role = role; }
 
+    public Integer getTokenVersion() { return tokenVersion; }
+    public void setTokenVersion(Integer tokenVersion) { this.tokenVersion = tokenVersion; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
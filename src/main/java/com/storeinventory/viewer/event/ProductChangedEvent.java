@@ -0,0 +1,46 @@
+package com.storeinventory.viewer.event;
+
+// Published by the product service for every committed product mutation.
+// "before" is null for creations and "after" is null for deletions.
+public class ProductChangedEvent {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final ChangeType type;
+    private final Long productId;
+    private final ProductSnapshot before;
+    private final ProductSnapshot after;
+
+    public ProductChangedEvent(ChangeType type, Long productId, ProductSnapshot before, ProductSnapshot after) {
+        this.type = type;
+        this.productId = productId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static ProductChangedEvent created(ProductSnapshot after) {
+        return new ProductChangedEvent(ChangeType.CREATED, after.getId(), null, after);
+    }
+
+    public static ProductChangedEvent updated(ProductSnapshot before, ProductSnapshot after) {
+        return new ProductChangedEvent(ChangeType.UPDATED, after.getId(), before, after);
+    }
+
+    public static ProductChangedEvent deleted(ProductSnapshot before) {
+        return new ProductChangedEvent(ChangeType.DELETED, before.getId(), before, null);
+    }
+
+    // Getters
+    public ChangeType getType() { return type; }
+    public Long getProductId() { return productId; }
+    public ProductSnapshot getBefore() { return before; }
+    public ProductSnapshot getAfter() { return after; }
+
+    @Override
+    public String toString() {
+        return "ProductChangedEvent{" +
+                "type=" + type +
+                ", productId=" + productId +
+                '}';
+    }
+}
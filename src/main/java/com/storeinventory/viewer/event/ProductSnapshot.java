@@ -0,0 +1,60 @@
+package com.storeinventory.viewer.event;
+
+import com.storeinventory.viewer.entity.Product;
+
+import java.time.LocalDateTime;
+
+// Immutable copy of a product's state, safe to hand to listeners after the entity changes again
+public final class ProductSnapshot {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String category;
+    private final Double price;
+    private final Integer quantity;
+    private final Boolean available;
+    private final String imageUrl;
+    private final LocalDateTime updatedAt;
+
+    public ProductSnapshot(Long id, String name, String description, String category, Double price,
+                           Integer quantity, Boolean available, String imageUrl, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.price = price;
+        this.quantity = quantity;
+        this.available = available;
+        this.imageUrl = imageUrl;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getCategory(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getAvailable(),
+                product.getImageUrl(),
+                product.getUpdatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getCategory() { return category; }
+    public Double getPrice() { return price; }
+    public Integer getQuantity() { return quantity; }
+    public Boolean getAvailable() { return available; }
+    public String getImageUrl() { return imageUrl; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public boolean isAvailable() {
+        return Boolean.TRUE.equals(available);
+    }
+}
@@ -0,0 +1,24 @@
+package com.storeinventory.viewer.event;
+
+import java.util.List;
+
+// Published once per committed import chunk in place of a ProductChangedEvent per row,
+// so listeners do their per-change work (cache eviction, feed broadcast, ...) once per chunk.
+public class ProductsImportedEvent {
+
+    private final List<ProductSnapshot> created;
+
+    public ProductsImportedEvent(List<ProductSnapshot> created) {
+        this.created = List.copyOf(created);
+    }
+
+    // Getters
+    public List<ProductSnapshot> getCreated() { return created; }
+
+    @Override
+    public String toString() {
+        return "ProductsImportedEvent{" +
+                "created=" + created.size() +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package com.storeinventory.viewer.feed;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One open change-feed connection with its bounded, coalescing buffer of undelivered deltas
+final class FeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final int maxPending;
+    // Insertion order follows the latest sequence per product, so drained deltas are in sequence order
+    private final Map<Long, ProductDelta> pending = new LinkedHashMap<>();
+    private long resetSequence = -1;
+    private long readySequence = -1;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private volatile long lastSentAt = System.currentTimeMillis();
+
+    FeedSubscriber(SseEmitter emitter, int maxPending) {
+        this.emitter = emitter;
+        this.maxPending = maxPending;
+    }
+
+    synchronized void enqueue(ProductDelta delta) {
+        ProductDelta previous = pending.remove(delta.getProductId());
+        if (previous == null && pending.size() >= maxPending) {
+            // Too far behind to catch up delta by delta; tell the client to reload the catalog instead
+            pending.clear();
+            resetSequence = delta.getSequence();
+            return;
+        }
+
+        ProductDelta merged = previous != null ? ProductDelta.coalesce(previous, delta) : delta;
+        if (merged != null) {
+            pending.put(merged.getProductId(), merged);
+        }
+    }
+
+    synchronized void reset(long sequence) {
+        pending.clear();
+        resetSequence = sequence;
+    }
+
+    // Confirm the subscription to a fresh client, with the position it starts from
+    synchronized void ready(long sequence) {
+        readySequence = sequence;
+    }
+
+    synchronized boolean hasPending() {
+        return readySequence >= 0 || resetSequence >= 0 || !pending.isEmpty();
+    }
+
+    synchronized Batch drain() {
+        Batch batch = new Batch(readySequence, resetSequence, new ArrayList<>(pending.values()));
+        pending.clear();
+        readySequence = -1;
+        resetSequence = -1;
+        return batch;
+    }
+
+    SseEmitter getEmitter() { return emitter; }
+
+    boolean tryStartFlush() { return flushing.compareAndSet(false, true); }
+    void finishFlush() { flushing.set(false); }
+
+    long getLastSentAt() { return lastSentAt; }
+    void markSent() { lastSentAt = System.currentTimeMillis(); }
+
+    static final class Batch {
+        // Sequence a fresh subscription starts from, or -1 when no confirmation is due
+        final long readySequence;
+        // Sequence the client should resume from after reloading, or -1 when no reset is due
+        final long resetSequence;
+        final List<ProductDelta> deltas;
+
+        private Batch(long readySequence, long resetSequence, List<ProductDelta> deltas) {
+            this.readySequence = readySequence;
+            this.resetSequence = resetSequence;
+            this.deltas = deltas;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.storeinventory.viewer.feed;
+
+import com.storeinventory.viewer.cache.CatalogVersion;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Fans committed product changes out to storefront clients over SSE.
+// Each client gets a bounded buffer that coalesces rapid changes to the same product and is
+// flushed on a short interval; recent deltas are kept so reconnecting clients can resume
+// from their Last-Event-ID instead of reloading the catalog. A fresh subscription is confirmed with
+// a "ready" event; a client that loads the catalog after it has arrived cannot miss a change.
+@Component
+public class ProductChangeFeed {
+
+    static final String READY_EVENT = "ready";
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    private final Deque<ProductDelta> history = new ArrayDeque<>();
+    private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long sequence;
+
+    private final int historySize;
+    private final int maxPending;
+    private final long heartbeatMillis;
+    private final long subscriptionTimeout;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "product-feed-scheduler"));
+    private final ExecutorService senders;
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeFeed.class);
+
+    public ProductChangeFeed(@Value("${product.feed.history-size:10000}") int historySize,
+                             @Value("${product.feed.max-pending:1000}") int maxPending,
+                             @Value("${product.feed.flush-interval:PT0.25S}") Duration flushInterval,
+                             @Value("${product.feed.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                             @Value("${product.feed.subscription-timeout:PT30M}") Duration subscriptionTimeout,
+                             @Value("${product.feed.sender-threads:4}") int senderThreads) {
+        this.historySize = historySize;
+        this.maxPending = maxPending;
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.subscriptionTimeout = subscriptionTimeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> daemon(runnable, "product-feed-sender"));
+
+        long flushMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushAll, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (history) {
+            ProductDelta delta = ProductDelta.of(++sequence, event);
+            history.addLast(delta);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (FeedSubscriber subscriber : subscribers) {
+                subscriber.enqueue(delta);
+            }
+        }
+    }
+
+    // A whole chunk of new products is cheaper to reload than to stream delta by delta. The history is
+    // dropped with it, so a client resuming from before the import is told to reload as well.
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        synchronized (history) {
+            ++sequence;
+            history.clear();
+            for (FeedSubscriber subscriber : subscribers) {
+                subscriber.reset(sequence);
+            }
+        }
+    }
+
+    // lastEventId is null for a fresh client that is about to load the catalog
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(subscriptionTimeout);
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, maxPending);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (history) {
+            if (lastEventId == null) {
+                subscriber.ready(sequence);
+            } else if (lastEventId != sequence) {
+                ProductDelta oldest = history.peekFirst();
+                if (lastEventId > sequence || oldest == null || lastEventId < oldest.getSequence() - 1) {
+                    // Unknown position (restart or fell out of the history window): reload from scratch
+                    subscriber.reset(sequence);
+                } else {
+                    for (ProductDelta delta : history) {
+                        if (delta.getSequence() > lastEventId) {
+                            subscriber.enqueue(delta);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        // Confirm right away rather than on the next flush; the client waits for it before loading the catalog
+        if (lastEventId == null && subscriber.tryStartFlush()) {
+            senders.execute(() -> flush(subscriber));
+        }
+
+        log.debug("Change feed subscriber added after event {} ({} open)", lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    private void flushAll() {
+        long now = System.currentTimeMillis();
+        for (FeedSubscriber subscriber : subscribers) {
+            boolean heartbeatDue = now - subscriber.getLastSentAt() >= heartbeatMillis;
+            if ((subscriber.hasPending() || heartbeatDue) && subscriber.tryStartFlush()) {
+                senders.execute(() -> flush(subscriber));
+            }
+        }
+    }
+
+    private void flush(FeedSubscriber subscriber) {
+        try {
+            FeedSubscriber.Batch batch = subscriber.drain();
+            SseEmitter emitter = subscriber.getEmitter();
+
+            if (batch.readySequence >= 0) {
+                emitter.send(SseEmitter.event().name(READY_EVENT).id(Long.toString(batch.readySequence)).data(Map.of()));
+            }
+            if (batch.resetSequence >= 0) {
+                emitter.send(SseEmitter.event().name(RESET_EVENT).id(Long.toString(batch.resetSequence)).data(Map.of()));
+            }
+
+            // Only the last delta carries an id: a client cut off mid-batch resumes from the previous batch
+            List<ProductDelta> deltas = batch.deltas;
+            for (int i = 0; i < deltas.size(); i++) {
+                ProductDelta delta = deltas.get(i);
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name(CHANGE_EVENT).data(delta);
+                if (i == deltas.size() - 1) {
+                    event.id(Long.toString(delta.getSequence()));
+                }
+                emitter.send(event);
+            }
+
+            if (batch.readySequence < 0 && batch.resetSequence < 0 && deltas.isEmpty()) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.markSent();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping change feed subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.getEmitter().completeWithError(e);
+        } finally {
+            subscriber.finishFlush();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.getEmitter().complete());
+    }
+}
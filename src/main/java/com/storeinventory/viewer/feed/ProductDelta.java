@@ -0,0 +1,97 @@
+package com.storeinventory.viewer.feed;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+
+import java.util.Objects;
+
+// Compact change-feed payload: STOCK and AVAILABILITY carry only the changed field,
+// CREATED and UPDATED carry the full product, DELETED carries only the id
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ProductDelta {
+
+    public enum Type { CREATED, UPDATED, DELETED, AVAILABILITY, STOCK }
+
+    private final long sequence;
+    private final Type type;
+    private final Long productId;
+    private final ProductSnapshot product;
+
+    private ProductDelta(long sequence, Type type, Long productId, ProductSnapshot product) {
+        this.sequence = sequence;
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+    }
+
+    public static ProductDelta of(long sequence, ProductChangedEvent event) {
+        return new ProductDelta(sequence, classify(event), event.getProductId(), event.getAfter());
+    }
+
+    // Merge two pending deltas for the same product into the one a client needs; null means nothing to send
+    static ProductDelta coalesce(ProductDelta previous, ProductDelta next) {
+        if (next.type == Type.DELETED) {
+            return previous.type == Type.CREATED ? null : next;
+        }
+        if (previous.type == Type.CREATED) {
+            return new ProductDelta(next.sequence, Type.CREATED, next.productId, next.product);
+        }
+        if (previous.type == next.type || previous.type == Type.DELETED) {
+            return next;
+        }
+        return new ProductDelta(next.sequence, Type.UPDATED, next.productId, next.product);
+    }
+
+    private static Type classify(ProductChangedEvent event) {
+        ProductSnapshot before = event.getBefore();
+        ProductSnapshot after = event.getAfter();
+        if (before == null) {
+            return Type.CREATED;
+        }
+        if (after == null) {
+            return Type.DELETED;
+        }
+
+        boolean sameDetails = Objects.equals(before.getName(), after.getName())
+                && Objects.equals(before.getDescription(), after.getDescription())
+                && Objects.equals(before.getCategory(), after.getCategory())
+                && Objects.equals(before.getPrice(), after.getPrice())
+                && Objects.equals(before.getImageUrl(), after.getImageUrl());
+        boolean sameQuantity = Objects.equals(before.getQuantity(), after.getQuantity());
+        boolean sameAvailability = Objects.equals(before.getAvailable(), after.getAvailable());
+
+        if (sameDetails && sameAvailability) {
+            return Type.STOCK;
+        }
+        if (sameDetails && sameQuantity) {
+            return Type.AVAILABILITY;
+        }
+        return Type.UPDATED;
+    }
+
+    @JsonIgnore
+    public long getSequence() { return sequence; }
+
+    public Type getType() { return type; }
+    public Long getProductId() { return productId; }
+
+    public String getName() { return hasDetails() ? product.getName() : null; }
+    public String getDescription() { return hasDetails() ? product.getDescription() : null; }
+    public String getCategory() { return hasDetails() ? product.getCategory() : null; }
+    public Double getPrice() { return hasDetails() ? product.getPrice() : null; }
+    public String getImageUrl() { return hasDetails() ? product.getImageUrl() : null; }
+
+    public Integer getQuantity() {
+        return hasDetails() || type == Type.STOCK ? product.getQuantity() : null;
+    }
+
+    public Boolean getAvailable() {
+        return hasDetails() || type == Type.AVAILABILITY ? product.getAvailable() : null;
+    }
+
+    private boolean hasDetails() {
+        return type == Type.CREATED || type == Type.UPDATED;
+    }
+}
@@ -0,0 +1,119 @@
+package com.storeinventory.viewer.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Times every statement execution and hands it to QueryStatistics; the pool behind it is left untouched
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final QueryStatistics statistics;
+
+    public ProfilingDataSource(DataSource targetDataSource, QueryStatistics statistics) {
+        super(targetDataSource);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profile(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profile(super.getConnection(username, password));
+    }
+
+    private Connection profile(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrap(result, Statement.class, null);
+                case "prepareStatement" -> wrap(result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall" -> wrap(result, CallableStatement.class, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object wrap(Object statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        // Folded once per prepared statement rather than on every execution
+        private final String preparedShape;
+        // Bound parameters of the current execution, replayed when capturing a plan
+        private final Map<Integer, Object> parameters = new HashMap<>();
+        // Copied only when QueryStatistics asks, i.e. for slow executions
+        private final Supplier<Map<Integer, Object>> boundParameters = () -> new HashMap<>(parameters);
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.preparedShape = preparedSql != null ? QueryStatistics.shapeOf(preparedSql) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return ProfilingDataSource.invoke(statement, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return ProfilingDataSource.invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                // Batches carry many parameter sets; none of them is representative for EXPLAIN
+                Supplier<Map<Integer, Object>> bound = name.equals("executeBatch") ? Map::of : boundParameters;
+                if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                    statistics.record(sql, QueryStatistics.shapeOf(sql), bound, elapsed, getTargetDataSource());
+                } else if (preparedSql != null) {
+                    statistics.record(preparedSql, preparedShape, bound, elapsed, getTargetDataSource());
+                }
+            }
+        }
+    }
+}
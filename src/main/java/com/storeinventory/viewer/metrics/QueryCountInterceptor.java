@@ -0,0 +1,56 @@
+package com.storeinventory.viewer.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Records how many Hibernate statements each request issued, per endpoint, and warns on outliers (N+1, double counts)
+@Component
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private static final Logger log = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    public QueryCountInterceptor(QueryCounter queryCounter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${metrics.queries.warn-threshold:20}") int warnThreshold) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int queries = queryCounter.get();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("Hibernate statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries);
+
+        if (queries > warnThreshold) {
+            log.warn("{} {} executed {} statements", request.getMethod(), uri, queries);
+        }
+    }
+}
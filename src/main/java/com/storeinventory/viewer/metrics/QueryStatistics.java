@@ -0,0 +1,186 @@
+package com.storeinventory.viewer.metrics;
+
+import com.storeinventory.viewer.dto.QueryShapeStats;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Latency per statement shape (SQL with literals and IN-list lengths folded away), plus the plan of slow SELECTs
+@Component
+public class QueryStatistics {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowThresholdNanos;
+    private final int maxShapes;
+    private final boolean explainEnabled;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    // Plans are captured off the request thread, on a connection that is not itself profiled
+    private final ExecutorService explainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Logger log = LoggerFactory.getLogger(QueryStatistics.class);
+
+    public QueryStatistics(@Value("${metrics.slow-query.threshold:PT0.1S}") Duration slowThreshold,
+                           @Value("${metrics.slow-query.max-shapes:500}") int maxShapes,
+                           @Value("${metrics.slow-query.explain:true}") boolean explainEnabled) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxShapes = maxShapes;
+        this.explainEnabled = explainEnabled;
+    }
+
+    public void record(String sql, Map<Integer, Object> parameters, long elapsedNanos, DataSource explainSource) {
+        if (sql == null) {
+            return;
+        }
+        record(sql, shapeOf(sql), () -> parameters, elapsedNanos, explainSource);
+    }
+
+    // For callers that computed the shape once up front; parameters are only read for slow executions
+    public void record(String sql, String key, Supplier<Map<Integer, Object>> parameters, long elapsedNanos,
+                       DataSource explainSource) {
+        if (sql == null) {
+            return;
+        }
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            if (shapes.size() >= maxShapes) {
+                untracked.increment();
+                return;
+            }
+            shape = shapes.computeIfAbsent(key, Shape::new);
+        }
+        shape.record(elapsedNanos);
+
+        if (elapsedNanos < slowThresholdNanos) {
+            return;
+        }
+        shape.slowCount.increment();
+        shape.lastSlowAt = Instant.now();
+        log.warn("Slow query ({} ms): {}", elapsedNanos / 1_000_000, key);
+
+        if (explainEnabled && isSelect(sql) && shape.explainRequested.compareAndSet(false, true)) {
+            Shape target = shape;
+            Map<Integer, Object> bound = parameters.get();
+            explainer.execute(() -> target.plan = explain(sql, bound, explainSource));
+        }
+    }
+
+    public List<QueryShapeStats> snapshot() {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong((Shape shape) -> shape.totalNanos.sum()).reversed())
+                .map(Shape::toStats)
+                .toList();
+    }
+
+    public long getSlowThresholdMs() {
+        return Duration.ofNanos(slowThresholdNanos).toMillis();
+    }
+
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    public void reset() {
+        shapes.clear();
+        untracked.reset();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    private static boolean isSelect(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with");
+    }
+
+    private String explain(String sql, Map<Integer, Object> parameters, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                while (rows.next()) {
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        if (column > 1) {
+                            plan.append('\t');
+                        }
+                        plan.append(rows.getString(column));
+                    }
+                    plan.append('\n');
+                }
+            }
+            return plan.toString().trim();
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not capture plan for slow query: {}", e.getMessage());
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static final class Shape {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder slowCount = new LongAdder();
+        private final AtomicBoolean explainRequested = new AtomicBoolean();
+        private volatile Instant lastSlowAt;
+        private volatile String plan;
+
+        private Shape(String sql) {
+            this.sql = sql;
+        }
+
+        private void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        private QueryShapeStats toStats() {
+            return new QueryShapeStats(sql, count.sum(), slowCount.sum(), totalNanos.sum() / 1_000_000.0,
+                    maxNanos.get() / 1_000_000.0, lastSlowAt != null ? lastSlowAt.toString() : null, plan);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.storeinventory.viewer.metrics;
+
+import com.storeinventory.viewer.dto.QueryShapeStats;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// GET /actuator/slowqueries summarises statement latency by shape; DELETE starts a fresh window
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final QueryStatistics statistics;
+
+    public SlowQueryEndpoint(QueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        List<QueryShapeStats> shapes = statistics.snapshot();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("thresholdMs", statistics.getSlowThresholdMs());
+        summary.put("shapes", shapes.size());
+        summary.put("untrackedExecutions", statistics.getUntrackedCount());
+        summary.put("slow", shapes.stream().filter(shape -> shape.getSlowCount() > 0).toList());
+        summary.put("top", shapes.stream().limit(20).toList());
+        return summary;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
@@ -1,19 +1,40 @@
 package com.storeinventory.viewer.repository;
 
+import com.storeinventory.viewer.dto.ProductPatch;
+import com.storeinventory.viewer.dto.ProductSummary;
 import com.storeinventory.viewer.entity.Product;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface CustomProductRepository {
 
     // Search products with multiple criteria
     List<Product> searchProducts(String name, String category, Double minPrice, Double maxPrice, Boolean available);
 
+    // Search products with multiple criteria, paged and sorted in the database
+    Page<Product> searchProducts(String name, String category, Double minPrice, Double maxPrice, Boolean available, Pageable pageable);
+
     // Get products with pagination and filtering
     Page<Product> findProductsWithFilters(String category, Boolean available, Pageable pageable);
 
+    // Summary projections: only the listing columns are selected and nothing is hydrated into the persistence context
+    List<ProductSummary> findProductSummaries(String category, Boolean available);
+
+    Page<ProductSummary> findProductSummariesWithFilters(String category, Boolean available, Pageable pageable);
+
+    // Seek forward through products ordered by (name, id) without offset or count queries
+    Window<Product> scrollProducts(String category, Boolean available, KeysetScrollPosition position, int limit);
+
+    // Apply partial price/quantity/availability changes as one batched UPDATE; returns rows touched per patch.
+    // A row is only touched while it still has the version given for it.
+    int[] patchProducts(List<ProductPatch> patches, Map<Long, Long> expectedVersions, LocalDateTime updatedAt);
+
     // Get product statistics by category
     List<Object[]> getProductCountByCategory();
 }
\ No newline at end of file
@@ -1,16 +1,24 @@
 package com.storeinventory.viewer.repository;
 
 import com.storeinventory.viewer.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, CustomProductRepository {
 
     // Find all available products
     List<Product> findByAvailableTrue();
@@ -46,6 +54,61 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Check if product exists by name (for validation)
     boolean existsByName(String name);
 
+    // Names from the given set that are already taken (one set-based check per import chunk)
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    // Current state and version of the given products for bulk updates (read-only, never dirty-checked)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findReadOnlyByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Atomic stock adjustments: conditional single-row UPDATEs that return 0 instead of going negative
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :amount, p.version = p.version + 1, p.updatedAt = :now " +
+            "WHERE p.id = :id")
+    int incrementQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :amount, p.version = p.version + 1, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.quantity >= :amount")
+    int decrementQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :amount, p.reservedQuantity = p.reservedQuantity + :amount, " +
+            "p.version = p.version + 1, p.updatedAt = :now WHERE p.id = :id AND p.quantity >= :amount")
+    int reserveQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :amount, p.reservedQuantity = p.reservedQuantity - :amount, " +
+            "p.version = p.version + 1, p.updatedAt = :now WHERE p.id = :id AND p.reservedQuantity >= :amount")
+    int releaseReservation(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.reservedQuantity = p.reservedQuantity - :amount, " +
+            "p.version = p.version + 1, p.updatedAt = :now WHERE p.id = :id AND p.reservedQuantity >= :amount")
+    int commitReservation(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    // Newest modification time across the catalog (seeds Last-Modified for conditional GETs)
+    @Query("SELECT MAX(p.updatedAt) FROM Product p")
+    LocalDateTime findLatestUpdate();
+
     // Find product by name (exact match, case-sensitive)
     Optional<Product> findByName(String name);
+
+    // Stream all products in id order for exports (bounded JDBC fetch size, no dirty checking)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    // Stream available products in id order for exports
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.available = true ORDER BY p.id")
+    Stream<Product> streamAvailable();
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.storeinventory.viewer.repository;
+
+import com.storeinventory.viewer.entity.ProductStockThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductStockThresholdRepository extends JpaRepository<ProductStockThreshold, Long> {
+}
@@ -0,0 +1,35 @@
+package com.storeinventory.viewer.repository;
+
+import com.storeinventory.viewer.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Revocations still in force (startup load)
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Revocations made since the last sync, possibly by another instance
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    // Insert-only: a jti that is already revoked fails on the primary key instead of being merged
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (jti, username, expires_at, revoked_at) " +
+            "VALUES (:jti, :username, :expiresAt, :revokedAt)", nativeQuery = true)
+    int insert(@Param("jti") String jti, @Param("username") String username,
+               @Param("expiresAt") LocalDateTime expiresAt, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,92 +1,191 @@
 package com.storeinventory.viewer.repository.impl;
 
+import com.storeinventory.viewer.dto.ProductPatch;
+import com.storeinventory.viewer.dto.ProductSummary;
 import com.storeinventory.viewer.entity.Product;
 import com.storeinventory.viewer.repository.CustomProductRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 
 @Repository
 public class CustomProductRepositoryImpl implements CustomProductRepository {
 
+    // Statements per JDBC batch for bulk patches
+    private static final int PATCH_BATCH_SIZE = 500;
+
+    // Null parameters keep the current column value, so only the patched fields are written.
+    // The version check makes the caller's snapshot exactly the row being patched.
+    private static final String PATCH_SQL = "UPDATE products SET " +
+            "price = COALESCE(?, price), " +
+            "quantity = COALESCE(?, quantity), " +
+            "available = COALESCE(?, available), " +
+            "updated_at = ?, " +
+            "version = version + 1 " +
+            "WHERE id = ? AND version = ?";
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomProductRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
     @Override
     public List<Product> searchProducts(String name, String category, Double minPrice, Double maxPrice, Boolean available) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Product> query = cb.createQuery(Product.class);
         Root<Product> root = query.from(Product.class);
 
-        List<Predicate> predicates = new ArrayList<>();
+        query.where(buildSearchPredicates(cb, root, name, category, minPrice, maxPrice, available));
+        query.orderBy(cb.asc(root.get("name")));
 
-        if (name != null && !name.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
-        }
+        return entityManager.createQuery(query).getResultList();
+    }
 
-        if (category != null && !category.isEmpty()) {
-            predicates.add(cb.equal(root.get("category"), category));
-        }
+    @Override
+    public Page<Product> searchProducts(String name, String category, Double minPrice, Double maxPrice,
+                                        Boolean available, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
 
-        if (minPrice != null) {
-            predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
-        }
+        query.where(buildSearchPredicates(cb, root, name, category, minPrice, maxPrice, available));
+        query.orderBy(buildOrders(cb, root, pageable.getSort()));
 
-        if (maxPrice != null) {
-            predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
-        }
+        return page(query, pageable, (countBuilder, countRoot) ->
+                buildSearchPredicates(countBuilder, countRoot, name, category, minPrice, maxPrice, available));
+    }
 
-        if (available != null) {
-            predicates.add(cb.equal(root.get("available"), available));
-        }
+    @Override
+    public Page<Product> findProductsWithFilters(String category, Boolean available, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
 
-        query.where(predicates.toArray(new Predicate[0]));
-        query.orderBy(cb.asc(root.get("name")));
+        query.where(buildFilterPredicates(cb, root, category, available));
+        query.orderBy(buildOrders(cb, root, pageable.getSort()));
+
+        return page(query, pageable, (countBuilder, countRoot) ->
+                buildFilterPredicates(countBuilder, countRoot, category, available));
+    }
+
+    @Override
+    public List<ProductSummary> findProductSummaries(String category, Boolean available) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(summaryOf(cb, root));
+        query.where(buildFilterPredicates(cb, root, category, available));
+        query.orderBy(cb.asc(root.get("id")));
 
         return entityManager.createQuery(query).getResultList();
     }
 
     @Override
-    public Page<Product> findProductsWithFilters(String category, Boolean available, Pageable pageable) {
+    public Page<ProductSummary> findProductSummariesWithFilters(String category, Boolean available, Pageable pageable) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
         Root<Product> root = query.from(Product.class);
 
-        List<Predicate> predicates = new ArrayList<>();
+        query.select(summaryOf(cb, root));
+        query.where(buildFilterPredicates(cb, root, category, available));
+        query.orderBy(buildOrders(cb, root, pageable.getSort()));
 
-        if (category != null && !category.isEmpty()) {
-            predicates.add(cb.equal(root.get("category"), category));
-        }
+        return page(query, pageable, (countBuilder, countRoot) ->
+                buildFilterPredicates(countBuilder, countRoot, category, available));
+    }
 
-        if (available != null) {
-            predicates.add(cb.equal(root.get("available"), available));
+    @Override
+    public Window<Product> scrollProducts(String category, Boolean available, KeysetScrollPosition position, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>(List.of(buildFilterPredicates(cb, root, category, available)));
+
+        Map<String, Object> keys = position.getKeys();
+        if (!keys.isEmpty()) {
+            String name = (String) keys.get("name");
+            Long id = ((Number) keys.get("id")).longValue();
+            predicates.add(cb.or(
+                    cb.greaterThan(root.get("name"), name),
+                    cb.and(cb.equal(root.get("name"), name), cb.greaterThan(root.get("id"), id))));
         }
 
         query.where(predicates.toArray(new Predicate[0]));
-        query.orderBy(cb.asc(root.get("name")));
+        query.orderBy(cb.asc(root.get("name")), cb.asc(root.get("id")));
 
-        List<Product> result = entityManager.createQuery(query)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
+        // Fetch one extra row to know whether another window follows
+        List<Product> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
                 .getResultList();
 
-        // Count query for pagination
-        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        Root<Product> countRoot = countQuery.from(Product.class);
-        countQuery.select(cb.count(countRoot)).where(predicates.toArray(new Predicate[0]));
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
+        boolean hasNext = rows.size() > limit;
+        List<Product> content = hasNext ? rows.subList(0, limit) : rows;
+
+        return Window.from(content, index -> {
+            Product product = content.get(index);
+            return ScrollPosition.forward(Map.of("name", product.getName(), "id", product.getId()));
+        }, hasNext);
+    }
+
+    @Override
+    public int[] patchProducts(List<ProductPatch> patches, Map<Long, Long> expectedVersions, LocalDateTime updatedAt) {
+        if (patches.isEmpty()) {
+            return new int[0];
+        }
+
+        // Runs on the JPA transaction's connection; flush first so pending entity writes are not reordered after it
+        entityManager.flush();
+
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        int[][] counts = jdbcTemplate.batchUpdate(PATCH_SQL, patches, PATCH_BATCH_SIZE, (ps, patch) -> {
+            ps.setObject(1, patch.getPrice(), Types.DOUBLE);
+            ps.setObject(2, patch.getQuantity(), Types.INTEGER);
+            ps.setObject(3, patch.getAvailable(), Types.BOOLEAN);
+            ps.setTimestamp(4, timestamp);
+            ps.setLong(5, patch.getId());
+            ps.setObject(6, expectedVersions.get(patch.getId()), Types.BIGINT);
+        });
+        // Managed copies of the patched rows are stale now; everything pending was flushed above
+        entityManager.clear();
 
-        return new PageImpl<>(result, pageable, total);
+        int[] result = new int[patches.size()];
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                result[index++] = count;
+            }
+        }
+        return result;
     }
 
     @Override
@@ -94,4 +193,80 @@ public class CustomProductRepositoryImpl implements CustomProductRepository {
         String jpql = "SELECT p.category, COUNT(p), SUM(p.quantity) FROM Product p GROUP BY p.category ORDER BY p.category";
         return entityManager.createQuery(jpql, Object[].class).getResultList();
     }
-}
\ No newline at end of file
+
+    // Runs the query for one page; the count query only runs when the total cannot be derived from the page itself
+    private <T> Page<T> page(CriteriaQuery<T> query, Pageable pageable,
+                             BiFunction<CriteriaBuilder, Root<Product>, Predicate[]> countPredicates) {
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<T> result = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(result, pageable, () -> {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Product> countRoot = countQuery.from(Product.class);
+            countQuery.select(cb.count(countRoot)).where(countPredicates.apply(cb, countRoot));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    private Predicate[] buildSearchPredicates(CriteriaBuilder cb, Root<Product> root, String name, String category,
+                                              Double minPrice, Double maxPrice, Boolean available) {
+        List<Predicate> predicates = new ArrayList<>(List.of(buildFilterPredicates(cb, root, category, available)));
+
+        if (name != null && !name.isEmpty()) {
+            predicates.add(cb.like(cb.lower(root.get("name")), "%" + escapeLike(name.toLowerCase()) + "%", '\\'));
+        }
+
+        if (minPrice != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+        }
+
+        if (maxPrice != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private Predicate[] buildFilterPredicates(CriteriaBuilder cb, Root<Product> root, String category, Boolean available) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (category != null && !category.isEmpty()) {
+            predicates.add(cb.equal(root.get("category"), category));
+        }
+
+        if (available != null) {
+            predicates.add(cb.equal(root.get("available"), available));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static CompoundSelection<ProductSummary> summaryOf(CriteriaBuilder cb, Root<Product> root) {
+        return cb.construct(ProductSummary.class,
+                root.get("id"), root.get("name"), root.get("category"), root.get("price"), root.get("available"));
+    }
+
+    // Requested sort (default by name) with id as tie-breaker so page boundaries are stable
+    private List<Order> buildOrders(CriteriaBuilder cb, Root<Product> root, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        if (sort.isSorted()) {
+            orders.addAll(QueryUtils.toOrders(sort, root, cb));
+        } else {
+            orders.add(cb.asc(root.get("name")));
+        }
+        if (sort.getOrderFor("id") == null) {
+            orders.add(cb.asc(root.get("id")));
+        }
+        return orders;
+    }
+
+    // Treat user input literally inside LIKE patterns
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
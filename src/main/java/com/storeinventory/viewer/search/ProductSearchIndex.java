@@ -0,0 +1,317 @@
+package com.storeinventory.viewer.search;
+
+import com.storeinventory.viewer.event.ProductSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over product name, category and description.
+// Terms match whole tokens; the last term of a query (or any term ending in '*') also matches as a prefix.
+@Component
+public class ProductSearchIndex {
+
+    // Field weights used for relevance ranking
+    static final int NAME_WEIGHT = 3;
+    static final int CATEGORY_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    // Prefix matches count for less than exact token matches
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // token -> (product id -> accumulated field weight); both maps are only replaced under the write lock
+    private NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private Map<Long, IndexedProduct> products = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes seen while a rebuild is running; replayed on top of the rebuilt index
+    private List<PendingChange> pending;
+
+    public void index(ProductSnapshot product) {
+        IndexedProduct indexed = toIndexed(product);
+
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(new PendingChange(product.getId(), indexed));
+            }
+            put(postings, products, indexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(new PendingChange(productId, null));
+            }
+            removeInternal(postings, products, productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings = new TreeMap<>();
+            products = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Start buffering live changes before the caller reads the products table
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Build a fresh index off the lock, then swap it in and re-apply the changes that raced with the read.
+    // Searches keep using the old index until the swap.
+    public void finishRebuild(Iterable<ProductSnapshot> current) {
+        NavigableMap<String, Map<Long, Integer>> freshPostings = new TreeMap<>();
+        Map<Long, IndexedProduct> freshProducts = new HashMap<>();
+        for (ProductSnapshot product : current) {
+            put(freshPostings, freshProducts, toIndexed(product));
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                for (PendingChange change : pending) {
+                    if (change.product != null) {
+                        put(freshPostings, freshProducts, change.product);
+                    } else {
+                        removeInternal(freshPostings, freshProducts, change.productId);
+                    }
+                }
+                pending = null;
+            }
+            postings = freshPostings;
+            products = freshProducts;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, boolean availableOnly, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        String normalizedQuery = query.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean prefix = i == terms.size() - 1 || normalizedQuery.contains(term + "*");
+                Map<Long, Double> termScores = scoreTerm(term, prefix);
+
+                // Every term has to match (AND semantics)
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : termScores.entrySet()) {
+                        Double score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+
+                if (scores.isEmpty()) {
+                    return new SearchHits(List.of(), 0);
+                }
+            }
+
+            List<ScoredProduct> ranked = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                IndexedProduct product = products.get(entry.getKey());
+                if (product != null && (!availableOnly || product.available)) {
+                    ranked.add(new ScoredProduct(product, entry.getValue()));
+                }
+            }
+
+            ranked.sort(Comparator.comparingDouble((ScoredProduct scored) -> scored.score).reversed()
+                    .thenComparing(scored -> scored.product.name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(scored -> scored.product.id));
+
+            List<Long> ids = ranked.stream()
+                    .skip(Math.max(offset, 0))
+                    .limit(Math.max(limit, 0))
+                    .map(scored -> scored.product.id)
+                    .toList();
+            return new SearchHits(ids, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // Best weight per product for a single term; must be called under the read lock
+    private Map<Long, Double> scoreTerm(String term, boolean prefix) {
+        Map<Long, Double> termScores = new HashMap<>();
+
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> termScores.put(id, (double) weight));
+        }
+
+        if (prefix) {
+            for (Map<Long, Integer> matches : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                matches.forEach((id, weight) -> termScores.merge(id, weight * PREFIX_FACTOR, Math::max));
+            }
+        }
+
+        return termScores;
+    }
+
+    private static IndexedProduct toIndexed(ProductSnapshot product) {
+        Map<String, Integer> tokenWeights = new HashMap<>();
+        addTokens(tokenWeights, product.getName(), NAME_WEIGHT);
+        addTokens(tokenWeights, product.getCategory(), CATEGORY_WEIGHT);
+        addTokens(tokenWeights, product.getDescription(), DESCRIPTION_WEIGHT);
+        return new IndexedProduct(product.getId(), product.getName(), product.isAvailable(), tokenWeights);
+    }
+
+    // Must be called under the write lock when the maps are the live ones
+    private static void put(NavigableMap<String, Map<Long, Integer>> postings,
+                            Map<Long, IndexedProduct> products,
+                            IndexedProduct product) {
+        removeInternal(postings, products, product.id);
+        product.tokenWeights.forEach((token, weight) ->
+                postings.computeIfAbsent(token, key -> new HashMap<>()).put(product.id, weight));
+        products.put(product.id, product);
+    }
+
+    // Must be called under the write lock when the maps are the live ones
+    private static void removeInternal(NavigableMap<String, Map<Long, Integer>> postings,
+                                       Map<Long, IndexedProduct> products,
+                                       Long productId) {
+        IndexedProduct existing = products.remove(productId);
+        if (existing == null) {
+            return;
+        }
+
+        for (String token : existing.tokenWeights.keySet()) {
+            Map<Long, Integer> matches = postings.get(token);
+            if (matches != null) {
+                matches.remove(productId);
+                if (matches.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static void addTokens(Map<String, Integer> tokenWeights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            tokenWeights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static final class IndexedProduct {
+        private final Long id;
+        private final String name;
+        private final boolean available;
+        private final Map<String, Integer> tokenWeights;
+
+        private IndexedProduct(Long id, String name, boolean available, Map<String, Integer> tokenWeights) {
+            this.id = id;
+            this.name = name;
+            this.available = available;
+            this.tokenWeights = tokenWeights;
+        }
+    }
+
+    private static final class PendingChange {
+        private final Long productId;
+        private final IndexedProduct product;
+
+        private PendingChange(Long productId, IndexedProduct product) {
+            this.productId = productId;
+            this.product = product;
+        }
+    }
+
+    private static final class ScoredProduct {
+        private final IndexedProduct product;
+        private final double score;
+
+        private ScoredProduct(IndexedProduct product, double score) {
+            this.product = product;
+            this.score = score;
+        }
+    }
+
+    // Ranked page of matching product ids plus the total number of matches
+    public static final class SearchHits {
+        private final List<Long> productIds;
+        private final long total;
+
+        public SearchHits(List<Long> productIds, long total) {
+            this.productIds = productIds;
+            this.total = total;
+        }
+
+        public List<Long> getProductIds() { return productIds; }
+        public long getTotal() { return total; }
+    }
+}
@@ -0,0 +1,62 @@
+package com.storeinventory.viewer.search;
+
+import com.storeinventory.viewer.cache.CatalogVersion;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import com.storeinventory.viewer.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the search index in step with the products table
+@Component
+public class ProductSearchIndexer {
+
+    private final ProductSearchIndex searchIndex;
+    private final ProductService productService;
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexer.class);
+
+    public ProductSearchIndexer(ProductSearchIndex searchIndex, ProductService productService) {
+        this.searchIndex = searchIndex;
+        this.productService = productService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        searchIndex.beginRebuild();
+        try {
+            List<ProductSnapshot> current = new ArrayList<>();
+            productService.exportProducts(false, product -> current.add(ProductSnapshot.of(product)));
+            searchIndex.finishRebuild(current);
+        } catch (RuntimeException e) {
+            searchIndex.abortRebuild();
+            throw e;
+        }
+        log.info("Indexed {} products for search in {} ms", searchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getAfter() != null) {
+            searchIndex.index(event.getAfter());
+        } else {
+            searchIndex.remove(event.getProductId());
+        }
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.getCreated().forEach(searchIndex::index);
+    }
+}
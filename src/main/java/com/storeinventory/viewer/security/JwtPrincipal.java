@@ -0,0 +1,42 @@
+package com.storeinventory.viewer.security;
+
+import java.time.Instant;
+
+// Verified contents of an access token, cached so repeat requests with the same token skip signature checks
+public final class JwtPrincipal {
+    private final String tokenId;
+    private final String username;
+    private final String role;
+    private final int tokenVersion;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String tokenId, String username, String role, int tokenVersion, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.username = username;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    public String getTokenId() { return tokenId; }
+    public String getUsername() { return username; }
+    public String getRole() { return role; }
+    public int getTokenVersion() { return tokenVersion; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{" +
+                "tokenId='" + tokenId + '\'' +
+                ", username='" + username + '\'' +
+                ", role='" + role + '\'' +
+                ", tokenVersion=" + tokenVersion +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
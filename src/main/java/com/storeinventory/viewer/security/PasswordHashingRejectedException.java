@@ -0,0 +1,9 @@
+package com.storeinventory.viewer.security;
+
+// Thrown when the password-hashing pool is saturated; callers answer 429 rather than queueing indefinitely
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
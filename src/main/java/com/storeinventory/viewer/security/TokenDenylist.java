@@ -0,0 +1,56 @@
+package com.storeinventory.viewer.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked token ids. A Bloom filter answers the common "not revoked" case with one memory probe;
+// only filter hits consult the expiring set. Entries drop out once their token would have expired.
+@Component
+public class TokenDenylist {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenDenylist(@Value("${security.revocation.expected-entries:100000}") int expectedRevocations,
+                         @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jti, Instant now) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(jti);
+        return expiresAt != null && now.isBefore(expiresAt);
+    }
+
+    // Set first, filter second: a probe that sees the filter bit always finds the entry
+    public synchronized void revoke(String jti, Instant expiresAt) {
+        revoked.put(jti, expiresAt);
+        filter.put(jti);
+    }
+
+    // Drops expired entries and rebuilds the filter, since a Bloom filter cannot forget
+    public synchronized int purgeExpired(Instant now) {
+        int before = revoked.size();
+        if (!revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt))) {
+            return 0; // nothing to forget, keep the current filter
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        return before - revoked.size();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.storeinventory.viewer.security;
+
+import com.storeinventory.viewer.entity.RevokedToken;
+import com.storeinventory.viewer.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Keeps the in-memory denylist in step with the revoked_tokens table and expires old entries in both
+@Component
+public class TokenDenylistSynchronizer {
+
+    private final TokenDenylist denylist;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private volatile LocalDateTime lastSync;
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylistSynchronizer.class);
+
+    public TokenDenylistSynchronizer(TokenDenylist denylist, RevokedTokenRepository revokedTokenRepository) {
+        this.denylist = denylist;
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+        active.forEach(this::add);
+        lastSync = now;
+        log.info("Loaded {} revoked tokens into the denylist", active.size());
+    }
+
+    // Picks up revocations made by other instances and drops entries whose tokens have expired
+    @Scheduled(initialDelayString = "${security.revocation.sync-interval:PT30S}",
+            fixedDelayString = "${security.revocation.sync-interval:PT30S}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // Overlap the previous window slightly; re-adding an entry is harmless
+        LocalDateTime since = lastSync != null ? lastSync.minusSeconds(5) : now.minusDays(1);
+        revokedTokenRepository.findByRevokedAtAfter(since).forEach(this::add);
+        lastSync = now;
+
+        int purged = denylist.purgeExpired(Instant.now());
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (purged > 0 || deleted > 0) {
+            log.debug("Expired {} denylist entries ({} rows deleted)", purged, deleted);
+        }
+    }
+
+    private void add(RevokedToken token) {
+        denylist.revoke(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -2,10 +2,18 @@ package com.storeinventory.viewer.service;
 
 import com.storeinventory.viewer.dto.AuthenticationRequest;
 import com.storeinventory.viewer.dto.AuthenticationResponse;
+import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.security.JwtPrincipal;
+
+import java.util.Optional;
 
 public interface AuthenticationService {
     AuthenticationResponse authenticate(AuthenticationRequest request);
+    AuthenticationResponse refresh(String refreshToken); // Re-reads the user, so role changes reach the new access token
     boolean validateToken(String token);
     String getUsernameFromToken(String token);
-    String generateToken(String username); // Add this method declaration
+    String generateToken(User user); // Short-lived access token carrying role and token version
+    String generateRefreshToken(User user);
+    Optional<JwtPrincipal> resolveToken(String token); // Verifies once, then serves repeat lookups from cache
+    boolean revokeToken(String token); // Denylists an access or refresh token until it expires; false if already expired
 }
\ No newline at end of file
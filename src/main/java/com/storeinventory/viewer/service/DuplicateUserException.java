@@ -0,0 +1,16 @@
+package com.storeinventory.viewer.service;
+
+// A username or email that is already registered; field names which one
+public class DuplicateUserException extends IllegalArgumentException {
+
+    private final String field;
+
+    public DuplicateUserException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,14 @@
+package com.storeinventory.viewer.service;
+
+import com.storeinventory.viewer.dto.StockLevel;
+
+public interface InventoryService {
+
+    // INCREMENT/DECREMENT change on-hand stock; RESERVE/RELEASE move units to and from reservations;
+    // COMMIT consumes a reservation once the order ships
+    enum Operation { INCREMENT, DECREMENT, RESERVE, RELEASE, COMMIT }
+
+    // Applies the operation atomically. Throws IllegalArgumentException for unknown products or
+    // non-positive amounts and IllegalStateException when the stock or reservation would go negative.
+    StockLevel adjustStock(Long productId, Operation operation, int amount);
+}
@@ -0,0 +1,14 @@
+package com.storeinventory.viewer.service;
+
+import com.storeinventory.viewer.dto.ProductImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    enum Format { CSV, NDJSON }
+
+    // Streams, validates and inserts products chunk by chunk; rows that fail are reported and skipped
+    ProductImportResult importProducts(InputStream input, Format format) throws IOException;
+}
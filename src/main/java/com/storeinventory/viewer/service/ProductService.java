@@ -1,11 +1,18 @@
 package com.storeinventory.viewer.service;
 
+import com.storeinventory.viewer.dto.BulkUpdateResult;
+import com.storeinventory.viewer.dto.CategoryStats;
+import com.storeinventory.viewer.dto.ProductPatch;
+import com.storeinventory.viewer.dto.ProductSummary;
 import com.storeinventory.viewer.entity.Product;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
@@ -22,14 +29,35 @@ public interface ProductService {
     // Admin methods
     Product createProduct(Product product);
     Product updateProduct(Long id, Product product);
+    Product updateProductAvailability(Long id, Boolean available);
     void deleteProduct(Long id);
+    BulkUpdateResult bulkUpdateProducts(List<ProductPatch> patches);
+    // Null threshold uses the per-product/per-category low-stock thresholds
     List<Product> getLowStockProducts(Integer threshold);
+    List<CategoryStats> getCategoryStatistics();
 
     // Advanced methods with pagination
     Page<Product> getProductsWithPagination(Pageable pageable);
     Page<Product> getAvailableProductsWithPagination(Pageable pageable);
     Page<Product> getProductsByCategoryWithPagination(String category, Pageable pageable);
 
+    // Summary views for listings (null filters match everything)
+    List<ProductSummary> getProductSummaries(String category, Boolean available);
+    Page<ProductSummary> getProductSummariesWithPagination(String category, Boolean available, Pageable pageable);
+
+    // Multi-criteria search filtered, sorted and paged in the database
+    Page<Product> searchProductsWithFilters(String name, String category, Double minPrice, Double maxPrice,
+                                            Boolean available, Pageable pageable);
+
+    // Ranked full-text search served from the in-memory index
+    Page<Product> searchCatalog(String query, boolean availableOnly, Pageable pageable);
+
+    // Keyset (seek) pagination
+    Window<Product> scrollProducts(String category, Boolean available, KeysetScrollPosition position, int size);
+
+    // Streaming export (each product is detached once the consumer has handled it)
+    void exportProducts(boolean availableOnly, Consumer<Product> consumer);
+
     // Validation methods
     boolean productExistsByName(String name);
     boolean productExistsById(Long id);
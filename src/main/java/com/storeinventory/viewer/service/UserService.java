@@ -16,5 +16,8 @@ public interface UserService {
     void deleteUser(Long id);
     boolean userExistsByUsername(String username);
     boolean userExistsByEmail(String email);
+    boolean isUsernameAvailable(String username); // Served from memory; the insert remains the final check
+    boolean isEmailAvailable(String email);
     boolean validateUserCredentials(String username, String password);
+    Optional<User> verifyCredentials(String username, String password); // The user when the password matches
 }
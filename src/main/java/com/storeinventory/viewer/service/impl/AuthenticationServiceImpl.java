@@ -1,99 +1,282 @@
 package com.storeinventory.viewer.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.storeinventory.viewer.dto.AuthenticationRequest;
 import com.storeinventory.viewer.dto.AuthenticationResponse;
+import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.repository.RevokedTokenRepository;
+import com.storeinventory.viewer.security.JwtPrincipal;
+import com.storeinventory.viewer.security.TokenDenylist;
 import com.storeinventory.viewer.service.AuthenticationService;
 import com.storeinventory.viewer.service.UserService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
+@Timed(value = "auth.service", histogram = true)
 public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final UserService userService;
+    private final TokenDenylist denylist;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Timer jwtVerifyTimer;
+    private final Counter tokenCacheHits;
+    private final Counter tokenCacheMisses;
+    private static final String ROLE_CLAIM = "role";
+    private static final String VERSION_CLAIM = "ver";
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ACCESS_TOKEN = "access";
+    private static final String REFRESH_TOKEN = "refresh";
     private static final Logger log = LoggerFactory.getLogger(AuthenticationServiceImpl.class);
 
-    @Value("${jwt.secret:myDefaultSecretKeyThatIsLongEnoughForHS512Algorithm1234567890}")
-    private String jwtSecret;
+    private final long jwtExpirationMs;
+    private final long refreshExpirationMs;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private long jwtExpirationMs;
+    // Built once; both are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
-    public AuthenticationServiceImpl(UserService userService) {
+    // Verified token -> principal, each entry expiring together with its token
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    public AuthenticationServiceImpl(UserService userService,
+                                     TokenDenylist denylist,
+                                     RevokedTokenRepository revokedTokenRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${jwt.secret:myDefaultSecretKeyThatIsLongEnoughForHS512Algorithm1234567890}") String jwtSecret,
+                                     // 15 minutes; role changes reach clients within this window
+                                     @Value("${jwt.expiration:900000}") long jwtExpirationMs,
+                                     @Value("${jwt.refresh-expiration:604800000}") long refreshExpirationMs, // 7 days
+                                     @Value("${jwt.cache.max-size:10000}") long tokenCacheMaxSize) {
         this.userService = userService;
-    }
+        this.denylist = denylist;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.jwtVerifyTimer = Timer.builder("auth.jwt.verify")
+                .description("Signature verification and claims parsing of tokens missing from the cache")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tokenCacheHits = Counter.builder("auth.jwt.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.tokenCacheMisses = Counter.builder("auth.jwt.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
 
-    private SecretKey getSigningKey() {
-        if (jwtSecret.length() < 64) {
-            return Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     @Override
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         log.info("Authenticating user: {}", request.getUsername());
 
-        boolean isValid = userService.validateUserCredentials(request.getUsername(), request.getPassword());
+        User user = userService.verifyCredentials(request.getUsername(), request.getPassword())
+                .orElseThrow(() -> new RuntimeException("Invalid username or password"));
+
+        log.info("Authentication successful for user: {}", request.getUsername());
+        return issueTokens(user, "Login successful");
+    }
 
-        if (!isValid) {
-            throw new RuntimeException("Invalid username or password");
+    @Override
+    public AuthenticationResponse refresh(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(refreshToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (!REFRESH_TOKEN.equals(claims.get(TYPE_CLAIM, String.class)) || claims.getId() == null ||
+                denylist.isRevoked(claims.getId(), Instant.now())) {
+            throw new IllegalArgumentException("Invalid refresh token");
         }
 
-        String token = generateToken(request.getUsername());
+        log.info("Refreshing tokens for user: {}", claims.getSubject());
 
-        log.info("Authentication successful for user: {}", request.getUsername());
-        return new AuthenticationResponse(token, request.getUsername(), "Login successful");
+        // The one user lookup in the token lifecycle: picks up role changes and refuses superseded tokens
+        User user = userService.getUserByUsername(claims.getSubject())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        if (version == null || version.intValue() != user.getTokenVersion()) {
+            throw new IllegalArgumentException("Refresh token has been superseded, please login again");
+        }
+
+        // Rotate: each refresh token buys exactly one new pair. Claimed before issuing, so of two
+        // concurrent refreshes with the same token (on any instance) only one gets through
+        if (!revoke(claims)) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        return issueTokens(user, "Token refreshed");
     }
 
     @Override
-    public String generateToken(String username) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+    public String generateToken(User user) {
+        return buildToken(user, ACCESS_TOKEN, jwtExpirationMs)
+                .claim(ROLE_CLAIM, user.getRole())
                 .compact();
     }
 
+    @Override
+    public String generateRefreshToken(User user) {
+        return buildToken(user, REFRESH_TOKEN, refreshExpirationMs).compact();
+    }
+
     @Override
     public boolean validateToken(String token) {
+        return resolveToken(token).isPresent();
+    }
+
+    @Override
+    public String getUsernameFromToken(String token) {
+        return resolveToken(token).map(JwtPrincipal::getUsername).orElse(null);
+    }
+
+    @Override
+    public Optional<JwtPrincipal> resolveToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        JwtPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired(now)) {
+            tokenCacheHits.increment();
+            return notRevoked(cached, now);
+        }
+        tokenCacheMisses.increment();
+
+        Timer.Sample sample = Timer.start();
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            // Refresh tokens only buy new access tokens; they never authenticate a request
+            if (!ACCESS_TOKEN.equals(claims.get(TYPE_CLAIM, String.class))) {
+                return Optional.empty();
+            }
+            Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+            Integer version = claims.get(VERSION_CLAIM, Integer.class);
+            JwtPrincipal principal = new JwtPrincipal(claims.getId(), claims.getSubject(),
+                    claims.get(ROLE_CLAIM, String.class), version != null ? version : 0, expiresAt);
+            verifiedTokens.put(token, principal);
+            return notRevoked(principal, now);
         } catch (Exception e) {
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
+        } finally {
+            sample.stop(jwtVerifyTimer);
         }
     }
 
     @Override
-    public String getUsernameFromToken(String token) {
+    public boolean revokeToken(String token) {
+        Claims claims;
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getSubject();
-        } catch (Exception e) {
-            log.error("Error extracting username from token: {}", e.getMessage());
-            return null;
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            return false; // already unusable
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            throw new IllegalArgumentException("Token has no id or expiry and cannot be revoked");
+        }
+
+        revoke(claims);
+        verifiedTokens.invalidate(token);
+        return true;
+    }
+
+    // Persisted first so a restart (or another instance) sees the revocation too.
+    // False when the token had already been revoked, here or elsewhere
+    private boolean revoke(Claims claims) {
+        Instant expiresAt = claims.getExpiration().toInstant();
+        try {
+            revokedTokenRepository.insert(claims.getId(), claims.getSubject(),
+                    LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            denylist.revoke(claims.getId(), expiresAt);
+            return false;
+        }
+        denylist.revoke(claims.getId(), expiresAt);
+        log.info("Revoked {} token {} of user {}", claims.get(TYPE_CLAIM, String.class), claims.getId(), claims.getSubject());
+        return true;
+    }
+
+    // One Bloom-filter probe in the common case
+    private Optional<JwtPrincipal> notRevoked(JwtPrincipal principal, Instant now) {
+        return denylist.isRevoked(principal.getTokenId(), now) ? Optional.empty() : Optional.of(principal);
+    }
+
+    private AuthenticationResponse issueTokens(User user, String message) {
+        return new AuthenticationResponse(generateToken(user), generateRefreshToken(user), user.getUsername(),
+                user.getRole(), jwtExpirationMs / 1000, message);
+    }
+
+    private JwtBuilder buildToken(User user, String type, long ttlMs) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(TYPE_CLAIM, type)
+                .claim(VERSION_CLAIM, user.getTokenVersion())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + ttlMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512);
+    }
+
+    // Evicts a cached token no later than the moment it expires
+    private static final class TokenExpiry implements Expiry<String, JwtPrincipal> {
+        private static final long MAX_TTL_NANOS = Duration.ofDays(1).toNanos();
+
+        @Override
+        public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+            if (principal.getExpiresAt() == null) {
+                return MAX_TTL_NANOS;
+            }
+            long remaining = Duration.between(Instant.now(), principal.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(remaining, MAX_TTL_NANOS));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.storeinventory.viewer.service.impl;
+
+import com.storeinventory.viewer.dto.StockLevel;
+import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.repository.ProductRepository;
+import com.storeinventory.viewer.service.InventoryService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Timed(value = "inventory.service", histogram = true)
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Adjustments to the same product queue on an in-process lock instead of holding
+    // pooled connections while they wait on the row lock
+    private final ReentrantLock[] stripes;
+
+    @Value("${product.inventory.max-attempts:3}")
+    private int maxAttempts;
+
+    public InventoryServiceImpl(ProductRepository productRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${product.inventory.lock-stripes:64}") int lockStripes) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public StockLevel adjustStock(Long productId, Operation operation, int amount) {
+        log.info("Adjusting stock of product {}: {} {}", productId, operation, amount);
+
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+
+        ReentrantLock lock = stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> apply(productId, operation, amount));
+                } catch (ConcurrencyFailureException e) {
+                    // Lock timeouts or deadlocks with writers outside this JVM; the UPDATE is safe to repeat
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    log.warn("Retrying {} of product {} after concurrency failure (attempt {}): {}",
+                            operation, productId, attempt, e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private StockLevel apply(Long productId, Operation operation, int amount) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = switch (operation) {
+            case INCREMENT -> productRepository.incrementQuantity(productId, amount, now);
+            case DECREMENT -> productRepository.decrementQuantity(productId, amount, now);
+            case RESERVE -> productRepository.reserveQuantity(productId, amount, now);
+            case RELEASE -> productRepository.releaseReservation(productId, amount, now);
+            case COMMIT -> productRepository.commitReservation(productId, amount, now);
+        };
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + productId));
+
+        if (updated == 0) {
+            throw new IllegalStateException(operation == Operation.RELEASE || operation == Operation.COMMIT
+                    ? "Only " + product.getReservedQuantity() + " units of product " + productId + " are reserved"
+                    : "Only " + product.getQuantity() + " units of product " + productId + " are in stock");
+        }
+
+        ProductSnapshot after = ProductSnapshot.of(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(beforeOf(after, operation, amount), after));
+
+        return new StockLevel(product.getId(), product.getQuantity(), product.getReservedQuantity(), product.getVersion());
+    }
+
+    // Rebuild the previous state from the delta instead of reading the row twice
+    private static ProductSnapshot beforeOf(ProductSnapshot after, Operation operation, int amount) {
+        int delta = switch (operation) {
+            case INCREMENT, RELEASE -> amount;
+            case DECREMENT, RESERVE -> -amount;
+            case COMMIT -> 0;
+        };
+
+        return new ProductSnapshot(
+                after.getId(),
+                after.getName(),
+                after.getDescription(),
+                after.getCategory(),
+                after.getPrice(),
+                after.getQuantity() - delta,
+                after.getAvailable(),
+                after.getImageUrl(),
+                after.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,291 @@
+package com.storeinventory.viewer.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.storeinventory.viewer.dto.ProductImportResult;
+import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import com.storeinventory.viewer.repository.ProductRepository;
+import com.storeinventory.viewer.service.ProductImportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "product.import.service", histogram = true)
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${product.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ProductImportResult importProducts(InputStream input, Format format) throws IOException {
+        log.info("Importing products from {} feed", format);
+        long start = System.currentTimeMillis();
+
+        ProductImportResult result = new ProductImportResult();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowParser parser = format == Format.CSV ? new CsvRowParser(reader.readLine()) : this::parseJsonLine;
+
+            String line;
+            long lineNumber = format == Format.CSV ? 1 : 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                result.recordRow();
+                try {
+                    Product product = parser.parse(line);
+                    validate(product);
+                    chunk.add(new ImportRow(lineNumber, product));
+                } catch (IllegalArgumentException e) {
+                    result.recordSkipped(lineNumber, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        log.info("Imported {} of {} products ({} skipped) in {} ms",
+                result.getImported(), result.getTotalRows(), result.getSkipped(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    // One transaction per chunk: a single set-based uniqueness check, then batched inserts
+    private void importChunk(List<ImportRow> chunk, ProductImportResult result) {
+        List<ImportRow> skipped = new ArrayList<>();
+
+        try {
+            Integer imported = transactionTemplate.execute(status -> {
+                Set<String> names = chunk.stream().map(row -> row.product.getName()).collect(Collectors.toSet());
+                Set<String> existingNames = productRepository.findExistingNames(names);
+                Set<String> seenNames = new HashSet<>();
+                List<Product> persisted = new ArrayList<>(chunk.size());
+
+                for (ImportRow row : chunk) {
+                    String name = row.product.getName();
+                    if (existingNames.contains(name) || !seenNames.add(name)) {
+                        skipped.add(row);
+                        continue;
+                    }
+                    entityManager.persist(row.product);
+                    persisted.add(row.product);
+                }
+
+                entityManager.flush();
+                // One event for the chunk: listeners run once per commit rather than once per row
+                if (!persisted.isEmpty()) {
+                    eventPublisher.publishEvent(new ProductsImportedEvent(
+                            persisted.stream().map(ProductSnapshot::of).toList()));
+                }
+                entityManager.clear();
+                return persisted.size();
+            });
+
+            result.recordImported(imported != null ? imported : 0);
+            for (ImportRow row : skipped) {
+                result.recordSkipped(row.line, "Product with name '" + row.product.getName() + "' already exists");
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to import chunk starting at line {}: {}", chunk.get(0).line, e.getMessage());
+            for (ImportRow row : chunk) {
+                result.recordSkipped(row.line, "Chunk could not be imported: " + e.getMessage());
+            }
+        }
+    }
+
+    private Product parseJsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, Product.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(Product product) {
+        product.setId(null);
+        product.setVersion(null);
+        product.setReservedQuantity(0);
+        if (product.getAvailable() == null) {
+            product.setAvailable(true);
+        }
+
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        if (product.getPrice() == null) {
+            throw new IllegalArgumentException("Price is required");
+        }
+        if (product.getQuantity() == null) {
+            throw new IllegalArgumentException("Quantity is required");
+        }
+    }
+
+    private interface RowParser {
+        Product parse(String line);
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final Product product;
+
+        private ImportRow(long line, Product product) {
+            this.line = line;
+            this.product = product;
+        }
+    }
+
+    // Minimal RFC 4180 reader: header row, comma separated, double-quoted fields with "" escapes
+    private static final class CsvRowParser implements RowParser {
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvRowParser(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV feed is empty");
+            }
+
+            List<String> names = splitLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                String column = names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+                columns.put(column, i);
+            }
+
+            for (String required : List.of("name", "category", "price", "quantity")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column '" + required + "'");
+                }
+            }
+        }
+
+        @Override
+        public Product parse(String line) {
+            List<String> fields = splitLine(line);
+
+            Product product = new Product();
+            product.setName(field(fields, "name"));
+            product.setDescription(field(fields, "description"));
+            product.setCategory(field(fields, "category"));
+            product.setImageUrl(field(fields, "imageurl"));
+
+            try {
+                String price = field(fields, "price");
+                product.setPrice(price != null ? Double.valueOf(price) : null);
+                String quantity = field(fields, "quantity");
+                product.setQuantity(quantity != null ? Integer.valueOf(quantity) : null);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number: " + e.getMessage());
+            }
+
+            String available = field(fields, "available");
+            if (available != null) {
+                product.setAvailable(Boolean.parseBoolean(available));
+            }
+            return product;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static List<String> splitLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+}
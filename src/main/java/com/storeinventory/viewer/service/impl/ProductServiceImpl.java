@@ -1,27 +1,73 @@
 package com.storeinventory.viewer.service.impl;
 
+import com.storeinventory.viewer.alert.LowStockIndex;
+import com.storeinventory.viewer.config.CacheConfig;
+import com.storeinventory.viewer.dto.BulkUpdateResult;
+import com.storeinventory.viewer.dto.CategoryStats;
+import com.storeinventory.viewer.dto.ProductPatch;
+import com.storeinventory.viewer.dto.ProductSummary;
 import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
 import com.storeinventory.viewer.repository.ProductRepository;
+import com.storeinventory.viewer.search.ProductSearchIndex;
 import com.storeinventory.viewer.service.ProductService;
+import com.storeinventory.viewer.stats.CategoryStatistics;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "product.service", histogram = true)
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final CategoryStatistics categoryStatistics;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    // Ids looked up per IN query during bulk updates
+    private static final int BULK_LOOKUP_CHUNK_SIZE = 1000;
+
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ProductSearchIndex searchIndex,
+                              CategoryStatistics categoryStatistics,
+                              LowStockIndex lowStockIndex,
+                              ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+        this.categoryStatistics = categoryStatistics;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -33,6 +79,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.AVAILABLE_PRODUCTS)
     public List<Product> getAvailableProducts() {
         log.info("Fetching all available products");
         return productRepository.findByAvailableTrue();
@@ -40,6 +87,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id", unless = "#result == null")
     public Optional<Product> getProductById(Long id) {
         log.info("Fetching product with id: {}", id);
         return productRepository.findById(id);
@@ -47,6 +95,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY, key = "#category")
     public List<Product> getProductsByCategory(String category) {
         log.info("Fetching products by category: {}", category);
         return productRepository.findByCategory(category);
@@ -54,6 +103,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.AVAILABLE_PRODUCTS_BY_CATEGORY, key = "#category")
     public List<Product> getAvailableProductsByCategory(String category) {
         log.info("Fetching available products by category: {}", category);
         return productRepository.findByCategoryAndAvailableTrue(category);
@@ -62,19 +112,20 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional(readOnly = true)
     public List<Product> searchProducts(String name) {
-        log.info("Searching products with name containing: {}", name);
-        return productRepository.findByNameContainingIgnoreCase(name);
+        log.info("Searching products matching: {}", name);
+        return findInRankOrder(searchIndex.search(name, false, 0, Integer.MAX_VALUE).getProductIds());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> searchAvailableProducts(String name) {
-        log.info("Searching available products with name containing: {}", name);
-        return productRepository.findByNameContainingIgnoreCaseAndAvailableTrue(name);
+        log.info("Searching available products matching: {}", name);
+        return findInRankOrder(searchIndex.search(name, true, 0, Integer.MAX_VALUE).getProductIds());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.PRODUCT_CATEGORIES)
     public List<String> getAllCategories() {
         log.info("Fetching all distinct categories");
         return productRepository.findAllDistinctCategories();
@@ -92,8 +143,13 @@ public class ProductServiceImpl implements ProductService {
         if (product.getAvailable() == null) {
             product.setAvailable(true);
         }
+        // Reservations only come from the inventory API
+        product.setReservedQuantity(0);
+        product.setVersion(null);
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(ProductSnapshot.of(savedProduct)));
+        return savedProduct;
     }
 
     @Override
@@ -109,6 +165,13 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Product with name '" + productDetails.getName() + "' already exists");
         }
 
+        // Clients that send the version they read get a conflict instead of silently overwriting a newer write
+        if (productDetails.getVersion() != null && !productDetails.getVersion().equals(existingProduct.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, id);
+        }
+
+        ProductSnapshot before = ProductSnapshot.of(existingProduct);
+
         existingProduct.setName(productDetails.getName());
         existingProduct.setDescription(productDetails.getDescription());
         existingProduct.setCategory(productDetails.getCategory());
@@ -117,7 +180,25 @@ public class ProductServiceImpl implements ProductService {
         existingProduct.setAvailable(productDetails.getAvailable());
         existingProduct.setImageUrl(productDetails.getImageUrl());
 
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.of(savedProduct)));
+        return savedProduct;
+    }
+
+    @Override
+    @Transactional
+    public Product updateProductAvailability(Long id, Boolean available) {
+        log.info("Updating availability of product with id: {} to {}", id, available);
+
+        Product existingProduct = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
+
+        ProductSnapshot before = ProductSnapshot.of(existingProduct);
+        existingProduct.setAvailable(available);
+
+        Product savedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.of(savedProduct)));
+        return savedProduct;
     }
 
     @Override
@@ -125,18 +206,105 @@ public class ProductServiceImpl implements ProductService {
     public void deleteProduct(Long id) {
         log.info("Deleting product with id: {}", id);
 
-        if (!productRepository.existsById(id)) {
-            throw new IllegalArgumentException("Product not found with id: " + id);
+        Product existingProduct = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
+
+        productRepository.delete(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(ProductSnapshot.of(existingProduct)));
+    }
+
+    @Override
+    @Transactional
+    public BulkUpdateResult bulkUpdateProducts(List<ProductPatch> patches) {
+        log.info("Bulk updating {} products", patches.size());
+        long start = System.currentTimeMillis();
+
+        BulkUpdateResult result = new BulkUpdateResult();
+        Set<Long> seenIds = new HashSet<>();
+
+        for (int from = 0; from < patches.size(); from += BULK_LOOKUP_CHUNK_SIZE) {
+            List<ProductPatch> chunk = patches.subList(from, Math.min(from + BULK_LOOKUP_CHUNK_SIZE, patches.size()));
+
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (ProductPatch patch : chunk) {
+                if (patch.getId() != null) {
+                    ids.add(patch.getId());
+                }
+            }
+
+            Map<Long, ProductSnapshot> before = new HashMap<>();
+            Map<Long, Long> versions = new HashMap<>();
+            for (Product product : productRepository.findReadOnlyByIdIn(ids)) {
+                before.put(product.getId(), ProductSnapshot.of(product));
+                versions.put(product.getId(), product.getVersion());
+            }
+
+            List<ProductPatch> valid = new ArrayList<>(chunk.size());
+            List<BulkUpdateResult.ItemResult> outcomes = new ArrayList<>(chunk.size());
+            for (ProductPatch patch : chunk) {
+                String error = validatePatch(patch, seenIds);
+                if (error != null) {
+                    outcomes.add(new BulkUpdateResult.ItemResult(patch.getId(), BulkUpdateResult.Status.INVALID, error));
+                } else if (!before.containsKey(patch.getId())) {
+                    outcomes.add(new BulkUpdateResult.ItemResult(patch.getId(), BulkUpdateResult.Status.NOT_FOUND,
+                            "Product not found with id: " + patch.getId()));
+                } else {
+                    valid.add(patch);
+                    outcomes.add(null);
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            int[] counts = productRepository.patchProducts(valid, versions, now);
+
+            int validIndex = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                BulkUpdateResult.ItemResult outcome = outcomes.get(i);
+                if (outcome != null) {
+                    result.record(outcome.getId(), outcome.getStatus(), outcome.getMessage());
+                    continue;
+                }
+
+                ProductPatch patch = valid.get(validIndex);
+                if (counts[validIndex++] == 0) {
+                    // Deleted or changed between the lookup and the update; the snapshot no longer describes the row
+                    if (productRepository.existsById(patch.getId())) {
+                        result.record(patch.getId(), BulkUpdateResult.Status.CONFLICT,
+                                "Product was modified concurrently: " + patch.getId());
+                    } else {
+                        result.record(patch.getId(), BulkUpdateResult.Status.NOT_FOUND, "Product not found with id: " + patch.getId());
+                    }
+                    continue;
+                }
+
+                // The version matched, so the snapshot plus the patch is exactly what was written
+                ProductSnapshot previous = before.get(patch.getId());
+                eventPublisher.publishEvent(ProductChangedEvent.updated(previous, applyPatch(previous, patch, now)));
+                result.record(patch.getId(), BulkUpdateResult.Status.UPDATED, null);
+            }
         }
 
-        productRepository.deleteById(id);
+        log.info("Bulk update finished: {} updated, {} not found, {} conflicts, {} invalid in {} ms",
+                result.getUpdated(), result.getNotFound(), result.getConflicts(), result.getInvalid(),
+                System.currentTimeMillis() - start);
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Product> getLowStockProducts(Integer threshold) {
+        if (threshold == null) {
+            log.info("Fetching products below their low-stock thresholds");
+            return findInRankOrder(lowStockIndex.findLowStock());
+        }
         log.info("Fetching products with stock less than: {}", threshold);
-        return productRepository.findByQuantityLessThanAndAvailableTrue(threshold);
+        return findInRankOrder(lowStockIndex.findBelow(threshold));
+    }
+
+    @Override
+    public List<CategoryStats> getCategoryStatistics() {
+        log.debug("Fetching category statistics");
+        return categoryStatistics.getStatistics();
     }
 
     @Override
@@ -150,18 +318,67 @@ public class ProductServiceImpl implements ProductService {
     @Transactional(readOnly = true)
     public Page<Product> getAvailableProductsWithPagination(Pageable pageable) {
         log.info("Fetching available products with pagination: {}", pageable);
-        return (Page<Product>) productRepository.findAll(pageable)
-                .map(product -> product.getAvailable() ? product : null)
-                .filter(Objects::nonNull);
+        return productRepository.findProductsWithFilters(null, true, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<Product> getProductsByCategoryWithPagination(String category, Pageable pageable) {
         log.info("Fetching products by category '{}' with pagination: {}", category, pageable);
-        return (Page<Product>) productRepository.findAll(pageable)
-                .map(product -> product.getCategory().equals(category) ? product : null)
-                .filter(Objects::nonNull);
+        return productRepository.findProductsWithFilters(category, null, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSummary> getProductSummaries(String category, Boolean available) {
+        log.info("Fetching product summaries (category: {}, available: {})", category, available);
+        return productRepository.findProductSummaries(category, available);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> getProductSummariesWithPagination(String category, Boolean available, Pageable pageable) {
+        log.info("Fetching product summaries (category: {}, available: {}) with pagination: {}", category, available, pageable);
+        return productRepository.findProductSummariesWithFilters(category, available, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> searchProductsWithFilters(String name, String category, Double minPrice, Double maxPrice,
+                                                   Boolean available, Pageable pageable) {
+        log.info("Searching products (name: {}, category: {}, price: {}-{}, available: {}) with pagination: {}",
+                name, category, minPrice, maxPrice, available, pageable);
+        return productRepository.searchProducts(name, category, minPrice, maxPrice, available, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> searchCatalog(String query, boolean availableOnly, Pageable pageable) {
+        log.info("Full-text search for '{}' (available only: {}) with pagination: {}", query, availableOnly, pageable);
+        ProductSearchIndex.SearchHits hits = searchIndex.search(
+                query, availableOnly, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(findInRankOrder(hits.getProductIds()), pageable, hits.getTotal());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Product> scrollProducts(String category, Boolean available, KeysetScrollPosition position, int size) {
+        log.info("Scrolling products (category: {}, available: {}) after {} with size {}", category, available, position.getKeys(), size);
+        return productRepository.scrollProducts(category, available, position, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(boolean availableOnly, Consumer<Product> consumer) {
+        log.info("Exporting {} products", availableOnly ? "available" : "all");
+
+        try (Stream<Product> products = availableOnly ? productRepository.streamAvailable() : productRepository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                // Keep the persistence context from growing with the export
+                entityManager.detach(product);
+            });
+        }
     }
 
     @Override
@@ -175,4 +392,59 @@ public class ProductServiceImpl implements ProductService {
     public boolean productExistsById(Long id) {
         return productRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    // Same rules as the entity constraints, checked per item so one bad row does not fail the batch
+    private static String validatePatch(ProductPatch patch, Set<Long> seenIds) {
+        if (patch.getId() == null) {
+            return "Product id is required";
+        }
+        if (!seenIds.add(patch.getId())) {
+            return "Duplicate product id in batch: " + patch.getId();
+        }
+        if (patch.isEmpty()) {
+            return "No changes specified";
+        }
+        if (patch.getPrice() != null && patch.getPrice() <= 0) {
+            return "Price must be greater than 0";
+        }
+        if (patch.getQuantity() != null && patch.getQuantity() < 0) {
+            return "Quantity cannot be negative";
+        }
+        return null;
+    }
+
+    private static ProductSnapshot applyPatch(ProductSnapshot before, ProductPatch patch, LocalDateTime updatedAt) {
+        return new ProductSnapshot(
+                before.getId(),
+                before.getName(),
+                before.getDescription(),
+                before.getCategory(),
+                patch.getPrice() != null ? patch.getPrice() : before.getPrice(),
+                patch.getQuantity() != null ? patch.getQuantity() : before.getQuantity(),
+                patch.getAvailable() != null ? patch.getAvailable() : before.getAvailable(),
+                before.getImageUrl(),
+                updatedAt
+        );
+    }
+
+    // Load products by id and keep the order the index returned them in
+    private List<Product> findInRankOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            productsById.put(product.getId(), product);
+        }
+
+        List<Product> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                ordered.add(product);
+            }
+        }
+        return ordered;
+    }
+}
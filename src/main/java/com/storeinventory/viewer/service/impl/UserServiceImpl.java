@@ -2,28 +2,40 @@ package com.storeinventory.viewer.service.impl;
 
 import com.storeinventory.viewer.entity.User;
 import com.storeinventory.viewer.repository.UserRepository;
+import com.storeinventory.viewer.security.PasswordHashingRejectedException;
+import com.storeinventory.viewer.service.DuplicateUserException;
 import com.storeinventory.viewer.service.UserService;
+import com.storeinventory.viewer.user.UserAvailabilityIndex;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
+@Timed(value = "user.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserAvailabilityIndex availabilityIndex;
     private PasswordEncoder passwordEncoder;
 
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
 
-    // Constructor injection only for UserRepository
-    public UserServiceImpl(UserRepository userRepository) {
+    // Constructor injection for UserRepository and the availability index
+    public UserServiceImpl(UserRepository userRepository, UserAvailabilityIndex availabilityIndex) {
         this.userRepository = userRepository;
+        this.availabilityIndex = availabilityIndex;
     }
 
     // Setter injection for PasswordEncoder
@@ -32,43 +44,74 @@ public class UserServiceImpl implements UserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    // Not transactional: hashing waits on the bounded hashing pool and must not pin a connection meanwhile.
+    // One INSERT decides: the unique username/email constraints report conflicts, including concurrent signups.
     @Override
-    @Transactional
     public User createUser(User user) {
         log.info("Creating new user: {}", user.getUsername());
 
-        // Validate unique constraints
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new IllegalArgumentException("Username '" + user.getUsername() + "' is already taken");
+        // Spares a password hash for names that are taken. The index may be stale (another instance deleted
+        // the user), so its hits are confirmed against the table; misses go straight to the insert
+        if (availabilityIndex.isUsernameTaken(user.getUsername()) && userRepository.existsByUsername(user.getUsername())) {
+            throw usernameTaken(user.getUsername());
         }
-
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("Email '" + user.getEmail() + "' is already registered");
+        if (availabilityIndex.isEmailTaken(user.getEmail()) && userRepository.existsByEmail(user.getEmail())) {
+            throw emailTaken(user.getEmail());
         }
 
         // Encode password before saving
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        // Set default role if not provided
+        // Set default role if not provided; admins are only made through updateUser
         if (user.getRole() == null || user.getRole().isEmpty()) {
-            user.setRole("ADMIN");
+            user.setRole(User.DEFAULT_ROLE);
         }
 
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateFrom(e, user);
+        }
+        availabilityIndex.add(saved.getUsername(), saved.getEmail());
+        return saved;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean validateUserCredentials(String username, String password) {
+        return verifyCredentials(username, password).isPresent();
+    }
+
+    // Not transactional for the same reason as createUser
+    @Override
+    public Optional<User> verifyCredentials(String username, String password) {
         log.info("Validating credentials for user: {}", username);
 
         Optional<User> userOptional = userRepository.findByUsername(username);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            return passwordEncoder.matches(password, user.getPassword());
+        if (userOptional.isEmpty()) {
+            return Optional.empty();
+        }
+
+        User user = userOptional.get();
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            return Optional.empty();
         }
 
-        return false;
+        // Stored with an older work factor: re-hash while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            // Targeted update: writing back the whole detached user could undo a concurrent updateUser
+            try {
+                String rehashed = passwordEncoder.encode(password);
+                if (userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), rehashed) > 0) {
+                    user.setPassword(rehashed);
+                    log.info("Re-hashed password for user {} with the current work factor", username);
+                }
+            } catch (PasswordHashingRejectedException e) {
+                log.debug("Skipping re-hash for user {}: {}", username, e.getMessage());
+            }
+        }
+
+        return Optional.of(user);
     }
 
     @Override
@@ -119,20 +162,32 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Email '" + userDetails.getEmail() + "' is already registered");
         }
 
+        String previousUsername = existingUser.getUsername();
+        String previousEmail = existingUser.getEmail();
+
         // Update fields
         existingUser.setUsername(userDetails.getUsername());
         existingUser.setEmail(userDetails.getEmail());
 
-        // Only update password if provided (and not empty)
+        // A password change invalidates refresh tokens issued before it
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
         }
 
+        // A role change keeps them valid: the next refresh re-reads the user and carries the new role
         if (userDetails.getRole() != null && !userDetails.getRole().isEmpty()) {
             existingUser.setRole(userDetails.getRole());
         }
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        String username = saved.getUsername();
+        String email = saved.getEmail();
+        afterCommit(() -> {
+            availabilityIndex.remove(previousUsername, previousEmail);
+            availabilityIndex.add(username, email);
+        });
+        return saved;
     }
 
     @Override
@@ -140,11 +195,11 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
 
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
 
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        afterCommit(() -> availabilityIndex.remove(user.getUsername(), user.getEmail()));
     }
 
     @Override
@@ -158,4 +213,56 @@ public class UserServiceImpl implements UserService {
     public boolean userExistsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
+
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return !availabilityIndex.isUsernameTaken(username);
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return !availabilityIndex.isEmailTaken(email);
+    }
+
+    // The index only ever reflects committed users; outside a transaction the change is already committed
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Maps a unique-constraint violation from the users insert to the field that collided
+    private RuntimeException duplicateFrom(DataIntegrityViolationException e, User user) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        String constraint = cause != null && ((ConstraintViolationException) cause).getConstraintName() != null
+                ? ((ConstraintViolationException) cause).getConstraintName()
+                : e.getMostSpecificCause().getMessage();
+        constraint = constraint != null ? constraint.toLowerCase(Locale.ROOT) : "";
+
+        if (constraint.contains("uk_users_username")) {
+            return usernameTaken(user.getUsername());
+        }
+        if (constraint.contains("uk_users_email")) {
+            return emailTaken(user.getEmail());
+        }
+        return e;
+    }
+
+    private static DuplicateUserException usernameTaken(String username) {
+        return new DuplicateUserException("username", "Username '" + username + "' is already taken");
+    }
+
+    private static DuplicateUserException emailTaken(String email) {
+        return new DuplicateUserException("email", "Email '" + email + "' is already registered");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.storeinventory.viewer.stats;
+
+import com.storeinventory.viewer.alert.LowStockIndex;
+import com.storeinventory.viewer.dto.CategoryStats;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Per-category aggregates kept current from product changes, so reads cost O(categories).
+// The last seen category, price, quantity and availability of every product is kept so each change
+// can retract exactly what it added. Low-stock counts come from the low-stock index, so the dashboard
+// and the alerts resolve thresholds the same way.
+@Component
+public class CategoryStatistics {
+
+    private final LowStockIndex lowStockIndex;
+    // Both maps are only replaced under the monitor, when a rebuild swaps in fresh state
+    private Map<Long, Entry> products = new HashMap<>();
+    private Map<String, CategoryTotals> categories = new TreeMap<>();
+
+    // Changes seen while a rebuild is running; replayed on top of the rebuilt state
+    private List<PendingChange> pending;
+
+    public CategoryStatistics(LowStockIndex lowStockIndex) {
+        this.lowStockIndex = lowStockIndex;
+    }
+
+    // Record the new state of a product; a null snapshot means it was deleted
+    public synchronized void apply(Long productId, ProductSnapshot product) {
+        if (pending != null) {
+            pending.add(new PendingChange(productId, product));
+        }
+        put(products, categories, productId, product);
+    }
+
+    public List<CategoryStats> getStatistics() {
+        // Read before taking this lock so the two indexes' locks are never nested
+        Map<String, Integer> lowStockCounts = lowStockIndex.countLowStockByCategory();
+
+        synchronized (this) {
+            List<CategoryStats> stats = new ArrayList<>(categories.size());
+            categories.forEach((category, totals) ->
+                    stats.add(totals.toStats(category, lowStockCounts.getOrDefault(category, 0))));
+            return stats;
+        }
+    }
+
+    public synchronized int size() {
+        return products.size();
+    }
+
+    // Start buffering live changes before the caller reads the products table
+    public synchronized void beginRebuild() {
+        pending = new ArrayList<>();
+    }
+
+    // Build fresh totals off the monitor, then swap them in and re-apply the changes that raced with the read.
+    // Changes and reads keep using the old state until the swap.
+    public void finishRebuild(Iterable<ProductSnapshot> current) {
+        Map<Long, Entry> freshProducts = new HashMap<>();
+        Map<String, CategoryTotals> freshCategories = new TreeMap<>();
+        for (ProductSnapshot product : current) {
+            put(freshProducts, freshCategories, product.getId(), product);
+        }
+
+        synchronized (this) {
+            if (pending != null) {
+                for (PendingChange change : pending) {
+                    put(freshProducts, freshCategories, change.productId, change.product);
+                }
+                pending = null;
+            }
+            products = freshProducts;
+            categories = freshCategories;
+        }
+    }
+
+    public synchronized void abortRebuild() {
+        pending = null;
+    }
+
+    private static void put(Map<Long, Entry> products, Map<String, CategoryTotals> categories,
+                            Long productId, ProductSnapshot product) {
+        Entry entry = product != null ? Entry.of(product) : null;
+        Entry previous = entry != null ? products.put(productId, entry) : products.remove(productId);
+        if (previous != null) {
+            CategoryTotals totals = categories.get(previous.category);
+            totals.remove(previous);
+            if (totals.productCount == 0) {
+                categories.remove(previous.category);
+            }
+        }
+        if (entry != null) {
+            categories.computeIfAbsent(entry.category, c -> new CategoryTotals()).add(entry);
+        }
+    }
+
+    // Just the fields the totals are built from
+    private static final class Entry {
+        private final String category;
+        private final double price;
+        private final int quantity;
+        private final boolean available;
+
+        private Entry(String category, double price, int quantity, boolean available) {
+            this.category = category;
+            this.price = price;
+            this.quantity = quantity;
+            this.available = available;
+        }
+
+        private static Entry of(ProductSnapshot product) {
+            return new Entry(
+                    product.getCategory(),
+                    product.getPrice() != null ? product.getPrice() : 0.0,
+                    product.getQuantity() != null ? product.getQuantity() : 0,
+                    product.isAvailable());
+        }
+    }
+
+    private static final class PendingChange {
+        private final Long productId;
+        private final ProductSnapshot product;
+
+        private PendingChange(Long productId, ProductSnapshot product) {
+            this.productId = productId;
+            this.product = product;
+        }
+    }
+
+    private static final class CategoryTotals {
+        private long productCount;
+        private long totalQuantity;
+        private long availableCount;
+        private double priceSum;
+        // Price multiset, so min and max survive removals
+        private final TreeMap<Double, Integer> prices = new TreeMap<>();
+
+        private void add(Entry entry) {
+            update(entry, 1);
+            prices.merge(entry.price, 1, Integer::sum);
+        }
+
+        private void remove(Entry entry) {
+            update(entry, -1);
+            prices.computeIfPresent(entry.price, (price, count) -> count > 1 ? count - 1 : null);
+        }
+
+        private void update(Entry entry, int sign) {
+            productCount += sign;
+            totalQuantity += (long) sign * entry.quantity;
+            priceSum += sign * entry.price;
+            if (entry.available) {
+                availableCount += sign;
+            }
+        }
+
+        private CategoryStats toStats(String category, long lowStockCount) {
+            return new CategoryStats(
+                    category,
+                    productCount,
+                    totalQuantity,
+                    availableCount,
+                    lowStockCount,
+                    prices.isEmpty() ? null : prices.firstKey(),
+                    prices.isEmpty() ? null : prices.lastKey(),
+                    productCount > 0 ? priceSum / productCount : null
+            );
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.storeinventory.viewer.stats;
+
+import com.storeinventory.viewer.cache.CatalogVersion;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import com.storeinventory.viewer.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the category statistics in step with the products table
+@Component
+public class CategoryStatisticsUpdater {
+
+    private final CategoryStatistics statistics;
+    private final ProductService productService;
+    private static final Logger log = LoggerFactory.getLogger(CategoryStatisticsUpdater.class);
+
+    public CategoryStatisticsUpdater(CategoryStatistics statistics, ProductService productService) {
+        this.statistics = statistics;
+        this.productService = productService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        statistics.beginRebuild();
+        try {
+            List<ProductSnapshot> current = new ArrayList<>();
+            productService.exportProducts(false, product -> current.add(ProductSnapshot.of(product)));
+            statistics.finishRebuild(current);
+        } catch (RuntimeException e) {
+            statistics.abortRebuild();
+            throw e;
+        }
+        log.info("Computed category statistics for {} products in {} ms", statistics.size(), System.currentTimeMillis() - start);
+    }
+
+    // Periodic reconciliation repairs drift from writes that bypass the product services
+    @Scheduled(initialDelayString = "${product.stats.reconcile-interval:PT10M}",
+            fixedDelayString = "${product.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        statistics.apply(event.getProductId(), event.getAfter());
+    }
+
+    @Order(CatalogVersion.BEFORE_VERSION_BUMP)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        for (ProductSnapshot product : event.getCreated()) {
+            statistics.apply(product.getId(), product);
+        }
+    }
+}
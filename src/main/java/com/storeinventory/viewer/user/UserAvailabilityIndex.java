@@ -0,0 +1,110 @@
+package com.storeinventory.viewer.user;
+
+import com.storeinventory.viewer.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Taken usernames and emails held in memory so availability checks (signup forms typing ahead) never query
+// the users table. Advisory only: the unique constraints on users stay the authority on conflicts, and a
+// name the index reports as taken is confirmed against the table before a signup is refused.
+@Component
+public class UserAvailabilityIndex {
+
+    private final UserRepository userRepository;
+    private volatile Set<String> usernames = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> emails = ConcurrentHashMap.newKeySet();
+    // Writers serialize on the lock; readers go straight to the current sets
+    private final Object lock = new Object();
+    // Changes made while a rebuild is loading, replayed onto the loaded sets; null otherwise
+    private List<Change> pending;
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityIndex.class);
+
+    public UserAvailabilityIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return username != null && usernames.contains(username);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return email != null && emails.contains(email);
+    }
+
+    // Callers apply committed changes only
+    public void add(String username, String email) {
+        apply(new Change(username, email, true));
+    }
+
+    public void remove(String username, String email) {
+        apply(new Change(username, email, false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        Set<String> loadedUsernames = ConcurrentHashMap.newKeySet();
+        Set<String> loadedEmails = ConcurrentHashMap.newKeySet();
+        try {
+            loadedUsernames.addAll(userRepository.findAllUsernames());
+            loadedEmails.addAll(userRepository.findAllEmails());
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            // Changes committed while loading may or may not be in the export; replaying them makes sure
+            for (Change change : pending) {
+                change.applyTo(loadedUsernames, loadedEmails);
+            }
+            pending = null;
+            usernames = loadedUsernames;
+            emails = loadedEmails;
+        }
+        log.info("Indexed {} usernames for availability checks in {} ms", loadedUsernames.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Picks up users created or removed by other instances
+    @Scheduled(initialDelayString = "${user.availability.reconcile-interval:PT5M}",
+            fixedDelayString = "${user.availability.reconcile-interval:PT5M}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    private void apply(Change change) {
+        synchronized (lock) {
+            change.applyTo(usernames, emails);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    private record Change(String username, String email, boolean added) {
+        private void applyTo(Set<String> usernames, Set<String> emails) {
+            if (added) {
+                usernames.add(username);
+                emails.add(email);
+            } else {
+                usernames.remove(username);
+                emails.remove(email);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+-- Baseline: the schema Hibernate generated for the User and Product entities
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL,
+    email       VARCHAR(100) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Pooled by Hibernate (allocationSize = 50)
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE products (
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    name              VARCHAR(100) NOT NULL,
+    description       VARCHAR(500),
+    category          VARCHAR(50)  NOT NULL,
+    price             FLOAT(53)    NOT NULL,
+    quantity          INTEGER      NOT NULL,
+    reserved_quantity INTEGER      NOT NULL DEFAULT 0,
+    available         BOOLEAN      NOT NULL DEFAULT TRUE,
+    image_url         VARCHAR(255),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    version           BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_products_name ON products (name);
@@ -0,0 +1,17 @@
+-- Indexes matching the product query shapes; every finder used to be a full scan
+
+-- Product names are unique (createProduct/updateProduct check existsByName, imports check names in sets)
+DROP INDEX idx_products_name;
+CREATE UNIQUE INDEX ux_products_name ON products (name);
+
+-- Category browsing: category = ? [AND available = ?] ORDER BY name
+CREATE INDEX idx_products_category_available_name ON products (category, available, name);
+
+-- Storefront listings and low-stock queries: available = ? [AND quantity < ?]
+CREATE INDEX idx_products_available_quantity ON products (available, quantity);
+
+-- Price range filters and price sorts in search
+CREATE INDEX idx_products_price ON products (price);
+
+-- MAX(updated_at) seeds the catalog version used for conditional GETs
+CREATE INDEX idx_products_updated_at ON products (updated_at);
@@ -0,0 +1,2 @@
+-- Embedded in issued tokens; bumped on password changes so refresh tokens from before the change are refused
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
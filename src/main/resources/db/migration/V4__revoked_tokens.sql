@@ -0,0 +1,10 @@
+-- Token denylist: rows are purged once the token they revoke has expired
+CREATE TABLE revoked_tokens (
+    jti         VARCHAR(36)  NOT NULL PRIMARY KEY,
+    username    VARCHAR(50),
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,11 @@
+-- Low-stock threshold overrides; products and categories without a row use product.low-stock.default-threshold
+CREATE TABLE low_stock_product_thresholds (
+    product_id  BIGINT  NOT NULL PRIMARY KEY,
+    threshold   INTEGER NOT NULL,
+    CONSTRAINT fk_low_stock_product_thresholds_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+);
+
+CREATE TABLE low_stock_category_thresholds (
+    category    VARCHAR(50) NOT NULL PRIMARY KEY,
+    threshold   INTEGER     NOT NULL
+);
@@ -0,0 +1,24 @@
+-- Development sample data; only applied where spring.flyway.locations includes db/sample-data
+
+-- Insert sample admin user (password: admin123)
+INSERT INTO users (username, email, password, role, created_at, updated_at)
+VALUES ('admin', 'admin@store.com', '$2a$10$8.UnVuG9HHgffUDAlk8qfOuVGkqRzgVymGe07xd00DMxs.AQubh4a', 'ADMIN', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+-- Insert sample products (ids come from the same pooled sequence Hibernate uses)
+INSERT INTO products (id, name, description, category, price, quantity, reserved_quantity, available, image_url, created_at, updated_at, version)
+VALUES
+    (NEXT VALUE FOR products_seq, 'iPhone 14', 'Latest Apple smartphone with advanced features', 'Electronics', 999.99, 50, 0, true, '/images/iphone14.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'Samsung Galaxy S23', 'High-performance Android smartphone', 'Electronics', 899.99, 35, 0, true, '/images/galaxy-s23.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'Nike Air Max', 'Comfortable running shoes', 'Clothing', 129.99, 100, 0, true, '/images/nike-airmax.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'MacBook Pro', 'Professional laptop for developers', 'Electronics', 1999.99, 20, 0, true, '/images/macbook-pro.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'Organic Bananas', 'Fresh organic bananas per kg', 'Grocery', 2.99, 200, 0, true, '/images/bananas.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'Levi''s Jeans', 'Classic blue denim jeans', 'Clothing', 79.99, 75, 0, true, '/images/levis-jeans.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'Sony Headphones', 'Wireless noise-canceling headphones', 'Electronics', 299.99, 30, 0, true, '/images/sony-headphones.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+
+    (NEXT VALUE FOR products_seq, 'Fresh Milk', 'Organic whole milk 1L', 'Grocery', 3.49, 150, 0, true, '/images/milk.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
\ No newline at end of file
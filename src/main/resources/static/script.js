@@ -2,6 +2,19 @@
 const API_BASE_URL = 'http://localhost:8080/api';
 let currentUser = null;
 let jwtToken = null;
+let refreshToken = null;
+let categoryStatsTimer = null;
+
+// Products currently shown, kept current by the change feed instead of re-fetching the catalog
+let catalog = new Map();
+let changeFeed = null;
+let changeFeedReady = null;
+// Deltas that arrive while the catalog is being fetched; applied on top of it once it is in
+let heldDeltas = null;
+let renderPending = false;
+
+// Category statistics are served from in-memory aggregates, so polling is cheap
+const CATEGORY_STATS_POLL_MS = 5000;
 
 // DOM Elements
 const loginBtn = document.getElementById('loginBtn');
@@ -13,6 +26,7 @@ const loginForm = document.getElementById('loginForm');
 const productForm = document.getElementById('productForm');
 const productsGrid = document.getElementById('productsGrid');
 const adminProductsGrid = document.getElementById('adminProductsGrid');
+const categoryStatsBody = document.getElementById('categoryStatsBody');
 const adminPanel = document.getElementById('adminPanel');
 const adminPanelBtn = document.getElementById('adminPanelBtn');
 const addProductBtn = document.getElementById('addProductBtn');
@@ -29,6 +43,7 @@ document.addEventListener('DOMContentLoaded', function() {
 function initializeApp() {
     // Check if user is already logged in
     const savedToken = localStorage.getItem('jwtToken');
+    refreshToken = localStorage.getItem('refreshToken');
     if (savedToken) {
         jwtToken = savedToken;
         validateTokenAndLoadUser();
@@ -124,8 +139,7 @@ async function handleLogin(e) {
         const data = await response.json();
 
         if (response.ok && data.token) {
-            jwtToken = data.token;
-            localStorage.setItem('jwtToken', jwtToken);
+            storeTokens(data);
             currentUser = data.username;
             updateUIForLoggedInUser();
             closeModals();
@@ -138,16 +152,48 @@ async function handleLogin(e) {
     }
 }
 
+function storeTokens(data) {
+    jwtToken = data.token;
+    refreshToken = data.refreshToken;
+    localStorage.setItem('jwtToken', jwtToken);
+    localStorage.setItem('refreshToken', refreshToken);
+}
+
+// Access tokens are short-lived; trade the refresh token for a new pair (also picks up role changes)
+async function refreshTokens() {
+    if (!refreshToken) return false;
+
+    const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ refreshToken })
+    });
+    if (!response.ok) return false;
+
+    storeTokens(await response.json());
+    return true;
+}
+
+// Authenticated fetch that renews an expired access token once and retries
+async function adminFetch(url, options = {}) {
+    const send = () => fetch(url, {
+        ...options,
+        headers: { ...(options.headers || {}), 'Authorization': `Bearer ${jwtToken}` }
+    });
+
+    let response = await send();
+    if ((response.status === 401 || response.status === 403) && await refreshTokens()) {
+        response = await send();
+    }
+    return response;
+}
+
 async function validateTokenAndLoadUser() {
     try {
         const response = await fetch(`${API_BASE_URL}/auth/validate?token=${jwtToken}`);
-        if (response.ok) {
+        if (response.ok || await refreshTokens()) {
             // Token is valid, get user info
-            const userResponse = await fetch(`${API_BASE_URL}/admin/products`, {
-                headers: {
-                    'Authorization': `Bearer ${jwtToken}`
-                }
-            });
+            const userResponse = await adminFetch(`${API_BASE_URL}/admin/products`);
             if (userResponse.ok) {
                 currentUser = 'admin'; // Since we only have admin users
                 updateUIForLoggedInUser();
@@ -160,9 +206,23 @@ async function validateTokenAndLoadUser() {
 }
 
 function logout() {
+    // Revoke server-side too; the UI logs out whether or not this succeeds
+    if (jwtToken) {
+        fetch(`${API_BASE_URL}/auth/logout`, {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+                'Authorization': `Bearer ${jwtToken}`
+            },
+            body: JSON.stringify({ refreshToken })
+        }).catch(error => console.error('Logout request failed:', error));
+    }
+
     jwtToken = null;
+    refreshToken = null;
     currentUser = null;
     localStorage.removeItem('jwtToken');
+    localStorage.removeItem('refreshToken');
     updateUIForLoggedOutUser();
     showPublicProducts();
     showMessage('Logged out successfully', 'success');
@@ -182,6 +242,7 @@ function updateUIForLoggedOutUser() {
     userWelcome.style.display = 'none';
     adminPanelBtn.style.display = 'none';
     adminPanel.style.display = 'none';
+    stopCategoryStatsPolling();
 }
 
 // Modal Functions
@@ -216,12 +277,21 @@ function closeModals() {
 }
 
 // Product Management Functions
+// The feed is connected before the catalog is fetched, so a change committed in between is never lost
 async function loadProducts() {
+    const held = [];
+    heldDeltas = held;
     try {
+        await subscribeToChanges();
         const response = await fetch(`${API_BASE_URL}/public/products`);
         if (response.ok) {
             const products = await response.json();
-            displayProducts(products, productsGrid);
+            if (heldDeltas !== held) return; // A newer load (after a reset) has taken over
+
+            heldDeltas = null;
+            catalog = new Map(products.map(product => [product.id, product]));
+            held.forEach(applyProductDelta);
+            displayProducts(Array.from(catalog.values()), productsGrid);
             if (currentUser) {
                 loadAdminProducts();
             }
@@ -229,12 +299,74 @@ async function loadProducts() {
             throw new Error('Failed to load products');
         }
     } catch (error) {
+        if (heldDeltas === held) {
+            heldDeltas = null;
+        }
         // For demo purposes, show sample products if API is not available
         console.error('Error loading products:', error);
         displaySampleProducts();
     }
 }
 
+// Change feed: compact deltas over SSE; EventSource resumes from the last event id after reconnects.
+// Resolves once the server has confirmed the subscription (or the feed failed, so loading goes ahead).
+function subscribeToChanges() {
+    if (typeof EventSource === 'undefined') return Promise.resolve();
+    if (changeFeed && changeFeed.readyState !== EventSource.CLOSED) return changeFeedReady;
+
+    changeFeed = new EventSource(`${API_BASE_URL}/public/products/changes`);
+    changeFeedReady = new Promise(resolve => {
+        changeFeed.addEventListener('ready', () => resolve(), { once: true });
+        changeFeed.addEventListener('error', () => resolve(), { once: true });
+    });
+
+    changeFeed.addEventListener('change', event => {
+        const delta = JSON.parse(event.data);
+        if (heldDeltas) {
+            heldDeltas.push(delta);
+        } else {
+            applyProductDelta(delta);
+        }
+    });
+
+    // The server could not replay what we missed and streams from here on; reload the catalog under it
+    changeFeed.addEventListener('reset', () => {
+        loadProducts();
+    });
+
+    return changeFeedReady;
+}
+
+function applyProductDelta(delta) {
+    const { type, productId, ...fields } = delta;
+
+    if (type === 'DELETED') {
+        catalog.delete(productId);
+    } else if (type === 'CREATED' || type === 'UPDATED') {
+        catalog.set(productId, { ...catalog.get(productId), id: productId, ...fields });
+    } else if (catalog.has(productId)) {
+        Object.assign(catalog.get(productId), fields);
+    }
+
+    scheduleRender();
+}
+
+// Bursts of deltas are rendered once per frame
+function scheduleRender() {
+    if (renderPending) return;
+    renderPending = true;
+
+    requestAnimationFrame(() => {
+        renderPending = false;
+        const products = Array.from(catalog.values());
+        displayProducts(products, productsGrid);
+        filterProducts();
+        if (currentUser && adminPanel.style.display === 'block') {
+            displayAdminProducts(products);
+        }
+    });
+}
+
 function displaySampleProducts() {
     const sampleProducts = [
         {
@@ -331,11 +463,7 @@ async function loadAdminProducts() {
     if (!jwtToken) return;
 
     try {
-        const response = await fetch(`${API_BASE_URL}/admin/products`, {
-            headers: {
-                'Authorization': `Bearer ${jwtToken}`
-            }
-        });
+        const response = await adminFetch(`${API_BASE_URL}/admin/products`);
         if (response.ok) {
             const products = await response.json();
             displayAdminProducts(products);
@@ -345,6 +473,60 @@ async function loadAdminProducts() {
     }
 }
 
+async function loadCategoryStats() {
+    if (!jwtToken) return;
+
+    try {
+        const response = await adminFetch(`${API_BASE_URL}/admin/products/statistics`);
+        if (response.ok) {
+            const stats = await response.json();
+            displayCategoryStats(stats);
+        }
+    } catch (error) {
+        console.error('Error loading category statistics:', error);
+    }
+}
+
+function displayCategoryStats(stats) {
+    const formatPrice = price => price == null ? '-' : `$${price.toFixed(2)}`;
+
+    categoryStatsBody.innerHTML = '';
+    stats.forEach(stat => {
+        const row = document.createElement('tr');
+        [
+            stat.category,
+            stat.productCount,
+            stat.availableCount,
+            stat.lowStockCount,
+            stat.totalQuantity,
+            formatPrice(stat.minPrice),
+            formatPrice(stat.avgPrice),
+            formatPrice(stat.maxPrice)
+        ].forEach(value => {
+            const cell = document.createElement('td');
+            cell.textContent = value;
+            row.appendChild(cell);
+        });
+        if (stat.lowStockCount > 0) {
+            row.classList.add('low-stock');
+        }
+        categoryStatsBody.appendChild(row);
+    });
+}
+
+function startCategoryStatsPolling() {
+    stopCategoryStatsPolling();
+    loadCategoryStats();
+    categoryStatsTimer = setInterval(loadCategoryStats, CATEGORY_STATS_POLL_MS);
+}
+
+function stopCategoryStatsPolling() {
+    if (categoryStatsTimer) {
+        clearInterval(categoryStatsTimer);
+        categoryStatsTimer = null;
+    }
+}
+
 async function loadCategories() {
     try {
         const response = await fetch(`${API_BASE_URL}/public/products/categories`);
@@ -461,11 +643,10 @@ async function handleProductSubmit(e) {
             ? `${API_BASE_URL}/admin/products/${productId}`
             : `${API_BASE_URL}/admin/products`;
 
-        const response = await fetch(url, {
+        const response = await adminFetch(url, {
             method: isEdit ? 'PUT' : 'POST',
             headers: {
-                'Content-Type': 'application/json',
-                'Authorization': `Bearer ${jwtToken}`
+                'Content-Type': 'application/json'
             },
             body: JSON.stringify(productData)
         });
@@ -473,8 +654,7 @@ async function handleProductSubmit(e) {
         if (response.ok) {
             closeModals();
             showMessage(`Product ${isEdit ? 'updated' : 'created'} successfully!`, 'success');
-            loadProducts();
-            loadAdminProducts();
+            refreshAfterAdminChange();
         } else {
             const error = await response.text();
             throw new Error(error);
@@ -484,6 +664,14 @@ async function handleProductSubmit(e) {
     }
 }
 
+// With the change feed connected the grids update themselves
+function refreshAfterAdminChange() {
+    if (!changeFeed || changeFeed.readyState === EventSource.CLOSED) {
+        loadProducts();
+        loadAdminProducts();
+    }
+}
+
 async function editProduct(productId) {
     try {
         const response = await fetch(`${API_BASE_URL}/public/products/${productId}`);
@@ -509,17 +697,13 @@ async function deleteProduct(productId) {
     }
 
     try {
-        const response = await fetch(`${API_BASE_URL}/admin/products/${productId}`, {
-            method: 'DELETE',
-            headers: {
-                'Authorization': `Bearer ${jwtToken}`
-            }
+        const response = await adminFetch(`${API_BASE_URL}/admin/products/${productId}`, {
+            method: 'DELETE'
         });
 
         if (response.ok) {
             showMessage('Product deleted successfully!', 'success');
-            loadProducts();
-            loadAdminProducts();
+            refreshAfterAdminChange();
         } else {
             throw new Error('Failed to delete product');
         }
@@ -607,9 +791,11 @@ function showAdminPanel() {
     document.getElementById('products').scrollIntoView({ behavior: 'smooth' });
     adminPanel.style.display = 'block';
     loadAdminProducts();
+    startCategoryStatsPolling();
 }
 
 function showPublicProducts() {
     adminPanel.style.display = 'none';
+    stopCategoryStatsPolling();
     document.getElementById('products').scrollIntoView({ behavior: 'smooth' });
 }
\ No newline at end of file
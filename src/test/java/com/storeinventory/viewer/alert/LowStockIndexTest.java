@@ -0,0 +1,81 @@
+package com.storeinventory.viewer.alert;
+
+import com.storeinventory.viewer.event.ProductSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LowStockIndexTest {
+
+	private LowStockIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new LowStockIndex(10);
+		index.update(product(1L, "Electronics", 50, true));
+		index.update(product(2L, "Electronics", 5, true));
+		index.update(product(3L, "Grocery", 2, false));
+	}
+
+	@Test
+	void tracksAvailableProductsBelowThresholdLowestFirst() {
+		index.update(product(4L, "Grocery", 3, true));
+
+		assertThat(index.findLowStock()).containsExactly(4L, 2L);
+		assertThat(index.findBelow(60)).containsExactly(4L, 2L, 1L);
+	}
+
+	@Test
+	void reportsCrossingsInBothDirections() {
+		List<LowStockAlert> dropped = index.update(product(1L, "Electronics", 9, true));
+		List<LowStockAlert> unchanged = index.update(product(1L, "Electronics", 8, true));
+		List<LowStockAlert> restocked = index.update(product(1L, "Electronics", 40, true));
+
+		assertThat(dropped).extracting(LowStockAlert::getType).containsExactly(LowStockAlert.Type.LOW_STOCK);
+		assertThat(unchanged).isEmpty();
+		assertThat(restocked).extracting(LowStockAlert::getType).containsExactly(LowStockAlert.Type.RESOLVED);
+	}
+
+	@Test
+	void productThresholdOverridesCategoryThreshold() {
+		List<LowStockAlert> categoryAlerts = index.setCategoryThreshold("Electronics", 60);
+		List<LowStockAlert> productAlerts = index.setProductThreshold(1L, 20);
+
+		assertThat(categoryAlerts).extracting(LowStockAlert::getProductId).containsExactly(1L);
+		assertThat(productAlerts).extracting(LowStockAlert::getType).containsExactly(LowStockAlert.Type.RESOLVED);
+		assertThat(index.findLowStock()).containsExactly(2L);
+	}
+
+	@Test
+	void loadedThresholdsReplaceTheCurrentOnes() {
+		index.setProductThreshold(2L, 1);
+
+		index.loadThresholds(Map.of(1L, 60), Map.of("Electronics", 3));
+
+		assertThat(index.getProductThresholds()).containsOnlyKeys(1L);
+		assertThat(index.findLowStock()).containsExactly(1L);
+	}
+
+	@Test
+	void rebuildKeepsChangesThatRacedWithTheExport() {
+		index.beginRebuild();
+		// Committed while the export runs, after it read products 1 and 2
+		index.update(product(1L, "Electronics", 4, true));
+		index.remove(2L);
+		index.setCategoryThreshold("Grocery", 20);
+
+		index.finishRebuild(List.of(product(1L, "Electronics", 50, true), product(2L, "Electronics", 5, true),
+				product(5L, "Grocery", 15, true)));
+
+		assertThat(index.findLowStock()).containsExactly(1L, 5L);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	private static ProductSnapshot product(Long id, String category, int quantity, boolean available) {
+		return new ProductSnapshot(id, "Product " + id, null, category, 9.99, quantity, available, null, null);
+	}
+}
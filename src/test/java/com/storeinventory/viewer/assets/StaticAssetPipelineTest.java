@@ -0,0 +1,70 @@
+package com.storeinventory.viewer.assets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticAssetPipelineTest {
+
+	private static final String INDEX =
+			"<link rel=\"stylesheet\" href=\"style.css\"><script src=\"script.js\"></script><img src=\"logo.png\">";
+
+	@TempDir
+	Path source;
+
+	@TempDir
+	Path output;
+
+	@Test
+	void fingerprintsAssetsAndRewritesTheSourceIndex() throws Exception {
+		Files.writeString(source.resolve("index.html"), INDEX);
+		Files.writeString(output.resolve("index.html"), INDEX);
+		Files.writeString(output.resolve("style.css"), "body { color: red; }");
+		Files.writeString(output.resolve("script.js"), "console.log('hi');");
+
+		Map<String, String> manifest = new StaticAssetPipeline(source, output, null).run();
+
+		assertThat(manifest).containsOnlyKeys("script.js", "style.css");
+		String css = manifest.get("style.css");
+		assertThat(css).matches("/assets/style\\.[0-9a-f]{10}\\.css");
+		assertThat(Files.readString(output.resolve(css.substring(1)))).isEqualTo("body { color: red; }");
+
+		String html = Files.readString(output.resolve("index.html"));
+		assertThat(html).contains("href=\"" + css + "\"", "src=\"" + manifest.get("script.js") + "\"", "src=\"logo.png\"");
+		assertThat(gunzip(output.resolve("index.html.gz"))).isEqualTo(html);
+		assertThat(gunzip(output.resolve(css.substring(1) + ".gz"))).isEqualTo("body { color: red; }");
+	}
+
+	@Test
+	void rebuildsFromTheSourceAndDropsOnlyCopiesOfEarlierBuilds() throws Exception {
+		Files.writeString(source.resolve("index.html"), INDEX);
+		Files.writeString(output.resolve("style.css"), "body { color: red; }");
+		Files.createDirectories(output.resolve("assets"));
+		Files.writeString(output.resolve("assets/favicon.ico"), "icon");
+		String first = new StaticAssetPipeline(source, output, null).run().get("style.css");
+
+		// Next build: the compiled index.html already references the first copy
+		Files.writeString(output.resolve("style.css"), "body { color: blue; }");
+		String second = new StaticAssetPipeline(source, output, null).run().get("style.css");
+
+		assertThat(second).isNotEqualTo(first);
+		assertThat(output.resolve(first.substring(1))).doesNotExist();
+		assertThat(output.resolve(first.substring(1) + ".gz")).doesNotExist();
+		assertThat(output.resolve("assets/favicon.ico")).exists();
+		assertThat(Files.readString(output.resolve("index.html"))).contains("href=\"" + second + "\"").doesNotContain(first);
+	}
+
+	private static String gunzip(Path file) throws Exception {
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
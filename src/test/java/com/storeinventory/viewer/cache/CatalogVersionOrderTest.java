@@ -0,0 +1,90 @@
+package com.storeinventory.viewer.cache;
+
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import com.storeinventory.viewer.repository.ProductRepository;
+import com.storeinventory.viewer.search.ProductSearchIndex;
+import com.storeinventory.viewer.search.ProductSearchIndexer;
+import com.storeinventory.viewer.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(CatalogVersionOrderTest.Config.class)
+class CatalogVersionOrderTest {
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private ProductSearchIndex searchIndex;
+
+	@Test
+	void versionIsBumpedOnlyAfterCachesAndSearchIndexAreUpdated() {
+		String before = catalogVersion.getETag();
+		List<String> seenByListeners = new ArrayList<>();
+
+		Cache cache = mock(Cache.class);
+		doAnswer(invocation -> seenByListeners.add(catalogVersion.getETag())).when(cache).evict(any());
+		when(cacheManager.getCache(any())).thenReturn(cache);
+		doAnswer(invocation -> seenByListeners.add(catalogVersion.getETag())).when(searchIndex).index(any());
+
+		// No transaction is active, so the listeners run right away in their declared order
+		eventPublisher.publishEvent(ProductChangedEvent.updated(product(5), product(4)));
+
+		assertThat(seenByListeners).isNotEmpty().containsOnly(before);
+		assertThat(catalogVersion.getETag()).isNotEqualTo(before);
+	}
+
+	private static ProductSnapshot product(int quantity) {
+		return new ProductSnapshot(1L, "Lamp", null, "Home", 19.99, quantity, true, null, null);
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@Import({CatalogVersion.class, ProductCacheInvalidator.class, ProductSearchIndexer.class})
+	static class Config {
+
+		@Bean
+		ProductRepository productRepository() {
+			return mock(ProductRepository.class);
+		}
+
+		@Bean
+		CacheManager cacheManager() {
+			return mock(CacheManager.class);
+		}
+
+		@Bean
+		ProductSearchIndex productSearchIndex() {
+			return mock(ProductSearchIndex.class);
+		}
+
+		@Bean
+		ProductService productService() {
+			return mock(ProductService.class);
+		}
+	}
+}
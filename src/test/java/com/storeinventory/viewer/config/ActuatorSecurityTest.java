@@ -0,0 +1,48 @@
+package com.storeinventory.viewer.config;
+
+import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.service.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthenticationService authenticationService;
+
+	@Test
+	void healthIsOpen() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void selfRegisteredUsersCannotReadOrResetSlowQueries() throws Exception {
+		String token = bearer(new User("clerk", "clerk@store.com", "unused", User.DEFAULT_ROLE));
+
+		mockMvc.perform(get("/actuator/slowqueries").header("Authorization", token)).andExpect(status().isForbidden());
+		mockMvc.perform(delete("/actuator/slowqueries").header("Authorization", token)).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", token)).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void adminsCanReadSlowQueries() throws Exception {
+		mockMvc.perform(get("/actuator/slowqueries").header("Authorization", bearer(new User("admin", "admin@store.com", "unused", "ADMIN"))))
+				.andExpect(status().isOk());
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + authenticationService.generateToken(user);
+	}
+}
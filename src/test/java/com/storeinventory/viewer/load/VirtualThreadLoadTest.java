@@ -0,0 +1,190 @@
+package com.storeinventory.viewer.load;
+
+import com.storeinventory.viewer.InventoryViewerApplication;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Same burst of concurrent clients against the platform-thread and virtual-thread modes, one after the other
+// in this JVM so the two runs are directly comparable. Opt-in: mvn test -Pload-test
+@Tag("load")
+class VirtualThreadLoadTest {
+
+	private static final int CLIENTS = 2000;
+	private static final int REQUESTS_PER_CLIENT = 5;
+	private static final int WARMUP_CLIENTS = 200;
+	private static final String PATH = "/api/public/products/page?page=0&size=5";
+
+	// Virtual threads must keep at least this share of the platform-thread throughput
+	private static final double MIN_THROUGHPUT_RATIO = 0.9;
+
+	private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+	@Test
+	void virtualThreadsServeTheSameBurstAtLeastAsWell(TestReporter reporter) throws Exception {
+		LoadResult platform = runAgainstApplication("platform threads", false, null);
+
+		List<String> pinned = Collections.synchronizedList(new ArrayList<>());
+		LoadResult virtual;
+		// Pinned virtual threads that block hold their carrier; JFR reports every such park of 20 ms or more
+		try (RecordingStream recording = new RecordingStream()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+			recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(describe(event)));
+			recording.startAsync();
+
+			virtual = runAgainstApplication("virtual threads", true, "virtual-threads");
+		}
+
+		for (LoadResult result : List.of(platform, virtual)) {
+			log.info("{}", result);
+			reporter.publishEntry(result.toReportEntry());
+		}
+		pinned.forEach(stack -> log.warn("Virtual thread pinned while blocked:\n{}", stack));
+
+		// Same bounds for both modes
+		for (LoadResult result : List.of(platform, virtual)) {
+			assertThat(result.failed).as("%s failures", result.mode).isZero();
+			assertThat(result.completed).as("%s completed requests", result.mode).isEqualTo(CLIENTS * REQUESTS_PER_CLIENT);
+		}
+
+		// And the comparison the virtual-thread profile exists for
+		assertThat(virtual.throughput())
+				.as("virtual-thread throughput relative to %.0f req/s on platform threads", platform.throughput())
+				.isGreaterThanOrEqualTo(platform.throughput() * MIN_THROUGHPUT_RATIO);
+		assertThat(pinned).as("jdk.VirtualThreadPinned events").isEmpty();
+	}
+
+	private static LoadResult runAgainstApplication(String mode, boolean virtualThreads, String profile) throws Exception {
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(InventoryViewerApplication.class)
+				.properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads);
+		if (profile != null) {
+			builder.profiles(profile);
+		}
+
+		try (ConfigurableApplicationContext context = builder.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			// Warm up so neither mode is measured with a cold JIT
+			run(mode, port, WARMUP_CLIENTS);
+			return run(mode, port, CLIENTS);
+		}
+	}
+
+	private static LoadResult run(String mode, int port, int clients) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(30))
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+				.timeout(Duration.ofSeconds(60))
+				.GET()
+				.build();
+
+		AtomicInteger failed = new AtomicInteger();
+		List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+		long start = System.nanoTime();
+
+		try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>(clients);
+			for (int i = 0; i < clients; i++) {
+				futures.add(clientThreads.submit(() -> {
+					for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+						long sent = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								failed.incrementAndGet();
+							}
+						} catch (Exception e) {
+							failed.incrementAndGet();
+						}
+						latencies.add(System.nanoTime() - sent);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+
+		return new LoadResult(mode, latencies, failed.get(), System.nanoTime() - start);
+	}
+
+	private static String describe(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return "(no stack trace) after " + event.getDuration().toMillis() + " ms";
+		}
+		return event.getDuration().toMillis() + " ms\n" + event.getStackTrace().getFrames().stream()
+				.limit(15)
+				.map(RecordedFrame::toString)
+				.collect(Collectors.joining("\n"));
+	}
+
+	private static final class LoadResult {
+		private final String mode;
+		private final int completed;
+		private final int failed;
+		private final long elapsedNanos;
+		private final List<Long> sortedLatencies;
+
+		private LoadResult(String mode, List<Long> latencies, int failed, long elapsedNanos) {
+			this.mode = mode;
+			this.sortedLatencies = new ArrayList<>(latencies);
+			Collections.sort(sortedLatencies);
+			this.completed = latencies.size() - failed;
+			this.failed = failed;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		private double throughput() {
+			return completed / (elapsedNanos / 1e9);
+		}
+
+		private double percentile(double p) {
+			if (sortedLatencies.isEmpty()) {
+				return 0;
+			}
+			int index = Math.min(sortedLatencies.size() - 1, (int) Math.ceil(p * sortedLatencies.size()) - 1);
+			return sortedLatencies.get(Math.max(index, 0)) / 1e6;
+		}
+
+		private Map<String, String> toReportEntry() {
+			return Map.of(
+					mode + ".completed", Integer.toString(completed),
+					mode + ".failed", Integer.toString(failed),
+					mode + ".throughput", String.format("%.0f", throughput()),
+					mode + ".p50Millis", String.format("%.1f", percentile(0.50)),
+					mode + ".p99Millis", String.format("%.1f", percentile(0.99)));
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d ok, %d failed in %.2f s (%.0f req/s), p50 %.1f ms, p99 %.1f ms",
+					mode, completed, failed, elapsedNanos / 1e9, throughput(), percentile(0.50), percentile(0.99));
+		}
+	}
+}
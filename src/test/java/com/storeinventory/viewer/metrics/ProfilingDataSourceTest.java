@@ -0,0 +1,105 @@
+package com.storeinventory.viewer.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ProfilingDataSourceTest {
+
+	private static final String SELECT = "select name from items where id = ? and name <> ?";
+	private static final String INSERT = "insert into items (id, name) values (?, ?)";
+
+	private final QueryStatistics statistics = mock(QueryStatistics.class);
+	private final DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:profiling;DB_CLOSE_DELAY=-1");
+	private ProfilingDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		try (Connection connection = target.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("create table items (id bigint primary key, name varchar(50))");
+			statement.execute("insert into items values (1, 'lamp')");
+		}
+		dataSource = new ProfilingDataSource(target, statistics);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		try (Connection connection = target.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("drop table items");
+		}
+	}
+
+	@Test
+	void proxiedStatementsStillReturnResults() throws Exception {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(SELECT)) {
+			statement.setLong(1, 1L);
+			statement.setString(2, "desk");
+			try (ResultSet rows = statement.executeQuery()) {
+				assertThat(rows.next()).isTrue();
+				assertThat(rows.getString(1)).isEqualTo("lamp");
+			}
+		}
+	}
+
+	@Test
+	void recordsThePreparedShapeAndTheBoundParameters() throws Exception {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(SELECT)) {
+			statement.setLong(1, 1L);
+			statement.setString(2, "desk");
+			statement.executeQuery().close();
+		}
+
+		Supplier<Map<Integer, Object>> parameters = recorded(SELECT);
+		assertThat(parameters.get()).containsEntry(1, 1L).containsEntry(2, "desk");
+	}
+
+	@Test
+	void batchesAreRecordedWithoutParameters() throws Exception {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(INSERT)) {
+			for (long id = 2; id <= 4; id++) {
+				statement.setLong(1, id);
+				statement.setString(2, "item " + id);
+				statement.addBatch();
+			}
+			assertThat(statement.executeBatch()).containsExactly(1, 1, 1);
+		}
+
+		assertThat(recorded(INSERT).get()).isEmpty();
+	}
+
+	@Test
+	void plainStatementsAreRecordedWithTheirOwnShape() throws Exception {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.executeQuery("select name from items where id = 1").close();
+		}
+
+		verify(statistics).record(eq("select name from items where id = 1"), eq("select name from items where id = ?"),
+				any(), anyLong(), eq(target));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Supplier<Map<Integer, Object>> recorded(String sql) {
+		ArgumentCaptor<Supplier<Map<Integer, Object>>> parameters = ArgumentCaptor.forClass(Supplier.class);
+		verify(statistics).record(eq(sql), eq(QueryStatistics.shapeOf(sql)), parameters.capture(), anyLong(), eq(target));
+		return parameters.getValue();
+	}
+}
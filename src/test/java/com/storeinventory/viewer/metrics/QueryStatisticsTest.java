@@ -0,0 +1,68 @@
+package com.storeinventory.viewer.metrics;
+
+import com.storeinventory.viewer.dto.QueryShapeStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatisticsTest {
+
+	@Test
+	void foldsLiteralsWhitespaceAndInListsIntoOneShape() {
+		assertThat(QueryStatistics.shapeOf("select *\n  from products p1_0 where p1_0.id in (?, ?,?)"))
+				.isEqualTo("select * from products p1_0 where p1_0.id in (?...)");
+		assertThat(QueryStatistics.shapeOf("select * from products where name = 'O''Brien' and price > 9.99"))
+				.isEqualTo("select * from products where name = ? and price > ?");
+	}
+
+	@Test
+	void aggregatesExecutionsAndCountsSlowOnes() {
+		QueryStatistics statistics = new QueryStatistics(Duration.ofMillis(100), 10, false);
+
+		statistics.record("select * from products where id = 1", Map.of(), Duration.ofMillis(5).toNanos(), null);
+		statistics.record("select * from products where id = 2", Map.of(), Duration.ofMillis(150).toNanos(), null);
+
+		List<QueryShapeStats> shapes = statistics.snapshot();
+		assertThat(shapes).hasSize(1);
+		assertThat(shapes.get(0).getCount()).isEqualTo(2);
+		assertThat(shapes.get(0).getSlowCount()).isEqualTo(1);
+		assertThat(shapes.get(0).getMaxMs()).isEqualTo(150.0);
+		assertThat(shapes.get(0).getLastSlowAt()).isNotNull();
+	}
+
+	@Test
+	void stopsTrackingNewShapesAtTheLimit() {
+		QueryStatistics statistics = new QueryStatistics(Duration.ofMillis(100), 1, false);
+
+		statistics.record("select * from products", Map.of(), 1_000, null);
+		statistics.record("select * from users", Map.of(), 1_000, null);
+
+		assertThat(statistics.snapshot()).hasSize(1);
+		assertThat(statistics.getUntrackedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void readsParametersOnlyForSlowExecutions() {
+		QueryStatistics statistics = new QueryStatistics(Duration.ofMillis(100), 10, true);
+		AtomicInteger copies = new AtomicInteger();
+		Supplier<Map<Integer, Object>> parameters = () -> {
+			copies.incrementAndGet();
+			return Map.of(1, 42L);
+		};
+
+		statistics.record("select * from products where id = ?", "select * from products where id = ?", parameters,
+				Duration.ofMillis(5).toNanos(), null);
+		assertThat(copies).hasValue(0);
+
+		statistics.record("select * from products where id = ?", "select * from products where id = ?", parameters,
+				Duration.ofMillis(150).toNanos(), null);
+		assertThat(copies).hasValue(1);
+		statistics.shutdown();
+	}
+}
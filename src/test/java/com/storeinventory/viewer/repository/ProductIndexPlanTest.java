@@ -0,0 +1,56 @@
+package com.storeinventory.viewer.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The migrated schema serves the product query shapes from indexes rather than table scans
+@DataJpaTest
+class ProductIndexPlanTest {
+
+	private static final String[] CATEGORIES = {"Electronics", "Clothing", "Grocery", "Home", "Toys", "Sports"};
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seed() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			rows.add(new Object[]{"Plan product " + i, CATEGORIES[i % CATEGORIES.length], 1.0 + (i % 500), i % 200, i % 10 != 0});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO products (id, name, category, price, quantity, available, created_at, updated_at) " +
+				"VALUES (NEXT VALUE FOR products_seq, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+	}
+
+	@Test
+	void categoryBrowsingUsesCategoryAvailableNameIndex() {
+		assertThat(plan("SELECT id FROM products WHERE category = 'Grocery' AND available = TRUE ORDER BY name"))
+				.containsIgnoringCase("idx_products_category_available_name");
+		assertThat(plan("SELECT id FROM products WHERE category = 'Grocery' ORDER BY name"))
+				.containsIgnoringCase("idx_products_category_available_name");
+	}
+
+	@Test
+	void lowStockUsesAvailableQuantityIndex() {
+		assertThat(plan("SELECT id FROM products WHERE available = TRUE AND quantity < 5"))
+				.containsIgnoringCase("idx_products_available_quantity");
+	}
+
+	@Test
+	void nameLookupsUseUniqueNameIndex() {
+		assertThat(plan("SELECT COUNT(*) FROM products WHERE name = 'Plan product 7'"))
+				.containsIgnoringCase("ux_products_name");
+	}
+
+	private String plan(String sql) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+	}
+}
@@ -0,0 +1,77 @@
+package com.storeinventory.viewer.search;
+
+import com.storeinventory.viewer.event.ProductSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+	private ProductSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProductSearchIndex();
+		index.index(product(1L, "iPhone 14", "Latest Apple smartphone", "Electronics", true));
+		index.index(product(2L, "Samsung Galaxy S23", "High-performance Android smartphone", "Electronics", true));
+		index.index(product(3L, "Organic Bananas", "Fresh organic bananas per kg", "Grocery", false));
+	}
+
+	@Test
+	void matchesWholeTokensAndRanksNameAboveDescription() {
+		index.index(product(4L, "Smartphone Case", "Protective case", "Accessories", true));
+
+		ProductSearchIndex.SearchHits hits = index.search("smartphone", false, 0, 10);
+
+		assertThat(hits.getTotal()).isEqualTo(3);
+		assertThat(hits.getProductIds().get(0)).isEqualTo(4L);
+	}
+
+	@Test
+	void treatsLastTermAsPrefixAndRequiresAllTerms() {
+		assertThat(index.search("galaxy sam", false, 0, 10).getProductIds()).containsExactly(2L);
+		assertThat(index.search("electro", false, 0, 10).getProductIds()).containsExactly(1L, 2L);
+		assertThat(index.search("galaxy apple", false, 0, 10).getTotal()).isZero();
+	}
+
+	@Test
+	void filtersUnavailableProductsAndPages() {
+		assertThat(index.search("bananas", true, 0, 10).getTotal()).isZero();
+		assertThat(index.search("smartphone", false, 1, 1).getProductIds()).hasSize(1);
+	}
+
+	@Test
+	void reindexingReplacesOldTokens() {
+		index.index(product(1L, "iPhone 15", "Newest Apple smartphone", "Electronics", true));
+		index.remove(3L);
+
+		assertThat(index.search("14", false, 0, 10).getTotal()).isZero();
+		assertThat(index.search("15", false, 0, 10).getProductIds()).containsExactly(1L);
+		assertThat(index.search("organic", false, 0, 10).getTotal()).isZero();
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void rebuildKeepsChangesThatRacedWithTheExport() {
+		index.beginRebuild();
+		// Live changes while the products table is being read; the export below predates them
+		index.index(product(1L, "iPhone 15", "Newest Apple smartphone", "Electronics", true));
+		index.remove(2L);
+		index.finishRebuild(List.of(
+				product(1L, "iPhone 14", "Latest Apple smartphone", "Electronics", true),
+				product(2L, "Samsung Galaxy S23", "High-performance Android smartphone", "Electronics", true)));
+
+		assertThat(index.search("15", false, 0, 10).getProductIds()).containsExactly(1L);
+		assertThat(index.search("14", false, 0, 10).getTotal()).isZero();
+		assertThat(index.search("galaxy", false, 0, 10).getTotal()).isZero();
+		assertThat(index.search("organic", false, 0, 10).getTotal()).isZero();
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	private static ProductSnapshot product(Long id, String name, String description, String category, boolean available) {
+		return new ProductSnapshot(id, name, description, category, 9.99, 10, available, null, null);
+	}
+}
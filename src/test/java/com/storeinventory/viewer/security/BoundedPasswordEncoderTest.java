@@ -0,0 +1,107 @@
+package com.storeinventory.viewer.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private BoundedPasswordEncoder encoder;
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		encoder.shutdown();
+	}
+
+	@Test
+	void rejectsImmediatelyWhenPoolAndQueueAreFull() throws Exception {
+		encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+		awaitQueueDepth(1);
+
+		assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(PasswordHashingRejectedException.class);
+		assertThat(meterRegistry.counter("auth.password.rejected").count()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:a");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:b");
+	}
+
+	@Test
+	void withdrawsAHashQueuedLongerThanMaxWait() throws Exception {
+		encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 4, Duration.ofMillis(50), meterRegistry);
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+		awaitActive(1);
+
+		assertThatThrownBy(() -> encoder.matches("b", "hashed:b")).isInstanceOf(PasswordHashingRejectedException.class);
+		assertThat(meterRegistry.get("auth.password.queue.depth").gauge().value()).isZero();
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:a");
+	}
+
+	@Test
+	void waitsForAHashThatStartedEvenPastMaxWait() throws Exception {
+		encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 4, Duration.ofMillis(50), meterRegistry);
+
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hashed:a"));
+		awaitActive(1);
+		Thread.sleep(200);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(meterRegistry.counter("auth.password.rejected").count()).isZero();
+	}
+
+	private void awaitActive(int active) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("auth.password.active").gauge().value() < active && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private void awaitQueueDepth(int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("auth.password.queue.depth").gauge().value() < depth && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			await();
+			return "hashed:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			await();
+			return encodedPassword.equals("hashed:" + rawPassword);
+		}
+
+		private void await() {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
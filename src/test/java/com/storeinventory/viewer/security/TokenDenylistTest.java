@@ -0,0 +1,54 @@
+package com.storeinventory.viewer.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+	private final Instant now = Instant.parse("2024-05-01T12:00:00Z");
+
+	@Test
+	void reportsRevokedTokensUntilTheyExpire() {
+		TokenDenylist denylist = new TokenDenylist(1_000, 0.001);
+		denylist.revoke("revoked", now.plusSeconds(60));
+
+		assertThat(denylist.isRevoked("revoked", now)).isTrue();
+		assertThat(denylist.isRevoked("revoked", now.plusSeconds(60))).isFalse();
+		assertThat(denylist.isRevoked("other", now)).isFalse();
+		assertThat(denylist.isRevoked(null, now)).isFalse();
+	}
+
+	@Test
+	void purgeDropsExpiredEntriesAndKeepsLiveOnes() {
+		TokenDenylist denylist = new TokenDenylist(1_000, 0.001);
+		denylist.revoke("short", now.plusSeconds(10));
+		denylist.revoke("long", now.plusSeconds(600));
+
+		assertThat(denylist.purgeExpired(now)).isZero();
+		assertThat(denylist.purgeExpired(now.plusSeconds(10))).isEqualTo(1);
+
+		assertThat(denylist.size()).isEqualTo(1);
+		assertThat(denylist.isRevoked("long", now.plusSeconds(10))).isTrue();
+	}
+
+	@Test
+	void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("member-" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("member-" + i)).isTrue();
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(300);
+	}
+}
@@ -0,0 +1,89 @@
+package com.storeinventory.viewer.service.impl;
+
+import com.storeinventory.viewer.dto.AuthenticationResponse;
+import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.repository.RevokedTokenRepository;
+import com.storeinventory.viewer.security.JwtPrincipal;
+import com.storeinventory.viewer.security.TokenDenylist;
+import com.storeinventory.viewer.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceImplTest {
+
+	private final UserService userService = mock(UserService.class);
+	private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+	private AuthenticationServiceImpl authenticationService;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		authenticationService = new AuthenticationServiceImpl(userService, new TokenDenylist(1_000, 0.001),
+				revokedTokenRepository, new SimpleMeterRegistry(),
+				"testSecretKeyThatIsLongEnoughForTheHS512AlgorithmToAcceptIt1234567890", 60_000L, 600_000L, 100L);
+
+		user = new User("clerk", "clerk@store.com", "unused", "STAFF");
+		when(userService.getUserByUsername("clerk")).thenReturn(Optional.of(user));
+	}
+
+	@Test
+	void accessTokenCarriesRoleAndVersion() {
+		JwtPrincipal principal = authenticationService.resolveToken(authenticationService.generateToken(user)).orElseThrow();
+
+		assertThat(principal.getUsername()).isEqualTo("clerk");
+		assertThat(principal.getRole()).isEqualTo("STAFF");
+		assertThat(principal.getTokenVersion()).isZero();
+	}
+
+	@Test
+	void refreshTokenDoesNotAuthenticateRequests() {
+		assertThat(authenticationService.resolveToken(authenticationService.generateRefreshToken(user))).isEmpty();
+	}
+
+	@Test
+	void refreshPicksUpRoleChangesAndRefusesSupersededTokens() {
+		String refreshToken = authenticationService.generateRefreshToken(user);
+
+		// A role change alone leaves the token version, and so the refresh token, as it was
+		user.setRole("ADMIN");
+		AuthenticationResponse refreshed = authenticationService.refresh(refreshToken);
+		assertThat(authenticationService.resolveToken(refreshed.getToken()).orElseThrow().getRole()).isEqualTo("ADMIN");
+
+		// Used refresh tokens are rotated out
+		assertThatThrownBy(() -> authenticationService.refresh(refreshToken)).isInstanceOf(IllegalArgumentException.class);
+
+		// A password change bumps the version
+		user.setTokenVersion(1);
+		assertThatThrownBy(() -> authenticationService.refresh(refreshed.getRefreshToken())).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> authenticationService.refresh(refreshed.getToken())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void refreshLosesToAConcurrentRefreshThatClaimedTheTokenFirst() {
+		String refreshToken = authenticationService.generateRefreshToken(user);
+		when(revokedTokenRepository.insert(any(), any(), any(), any())).thenThrow(new DuplicateKeyException("jti"));
+
+		assertThatThrownBy(() -> authenticationService.refresh(refreshToken)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void revokedAccessTokenIsRejected() {
+		String token = authenticationService.generateToken(user);
+		assertThat(authenticationService.resolveToken(token)).isPresent();
+
+		assertThat(authenticationService.revokeToken(token)).isTrue();
+
+		assertThat(authenticationService.resolveToken(token)).isEmpty();
+		assertThat(authenticationService.resolveToken(authenticationService.generateToken(user))).isPresent();
+	}
+}
@@ -0,0 +1,43 @@
+package com.storeinventory.viewer.service.impl;
+
+import com.storeinventory.viewer.dto.ProductImportResult;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.event.ProductsImportedEvent;
+import com.storeinventory.viewer.service.ProductImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "product.import.chunk-size=10")
+@RecordApplicationEvents
+class ProductImportServiceImplTest {
+
+	@Autowired
+	private ProductImportService importService;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@Test
+	void publishesOneEventPerCommittedChunk() throws Exception {
+		StringBuilder csv = new StringBuilder("name,category,price,quantity\n");
+		for (int i = 0; i < 25; i++) {
+			csv.append("Chunked import ").append(i).append(",Home,").append(10 + i).append(",5\n");
+		}
+
+		ProductImportResult result = importService.importProducts(
+				new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV);
+
+		assertThat(result.getImported()).isEqualTo(25);
+		assertThat(events.stream(ProductChangedEvent.class)).isEmpty();
+		assertThat(events.stream(ProductsImportedEvent.class).map(event -> event.getCreated().size()))
+				.containsExactly(10, 10, 5);
+	}
+}
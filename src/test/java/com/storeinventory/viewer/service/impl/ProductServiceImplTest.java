@@ -0,0 +1,71 @@
+package com.storeinventory.viewer.service.impl;
+
+import com.storeinventory.viewer.alert.LowStockIndex;
+import com.storeinventory.viewer.dto.BulkUpdateResult;
+import com.storeinventory.viewer.dto.ProductPatch;
+import com.storeinventory.viewer.entity.Product;
+import com.storeinventory.viewer.event.ProductChangedEvent;
+import com.storeinventory.viewer.repository.ProductRepository;
+import com.storeinventory.viewer.search.ProductSearchIndex;
+import com.storeinventory.viewer.stats.CategoryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductServiceImplTest {
+
+	private final ProductRepository productRepository = mock(ProductRepository.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private ProductServiceImpl productService;
+
+	@BeforeEach
+	void setUp() {
+		productService = new ProductServiceImpl(productRepository, mock(ProductSearchIndex.class),
+				mock(CategoryStatistics.class), mock(LowStockIndex.class), eventPublisher);
+	}
+
+	@Test
+	void bulkUpdateGuardsEachRowWithTheVersionItRead() {
+		when(productRepository.findReadOnlyByIdIn(List.of(1L, 2L, 3L)))
+				.thenReturn(List.of(product(1L, 5, 7L), product(2L, 8, 3L)));
+		// Row 1 is patched; row 2 changed after it was read
+		when(productRepository.patchProducts(anyList(), anyMap(), any())).thenReturn(new int[] {1, 0});
+		when(productRepository.existsById(2L)).thenReturn(true);
+
+		BulkUpdateResult result = productService.bulkUpdateProducts(List.of(
+				new ProductPatch(1L, null, 2, null),
+				new ProductPatch(2L, null, 4, null),
+				new ProductPatch(3L, 1.0, null, null)));
+
+		verify(productRepository).patchProducts(anyList(), eq(Map.of(1L, 7L, 2L, 3L)), any());
+		assertThat(result.getUpdated()).isEqualTo(1);
+		assertThat(result.getConflicts()).isEqualTo(1);
+		assertThat(result.getNotFound()).isEqualTo(1);
+
+		ArgumentCaptor<ProductChangedEvent> events = ArgumentCaptor.forClass(ProductChangedEvent.class);
+		verify(eventPublisher).publishEvent(events.capture());
+		assertThat(events.getValue().getProductId()).isEqualTo(1L);
+		assertThat(events.getValue().getBefore().getQuantity()).isEqualTo(5);
+		assertThat(events.getValue().getAfter().getQuantity()).isEqualTo(2);
+	}
+
+	private static Product product(Long id, int quantity, Long version) {
+		Product product = new Product("Product " + id, null, "Electronics", 9.99, quantity, true, null);
+		product.setId(id);
+		product.setVersion(version);
+		return product;
+	}
+}
@@ -0,0 +1,124 @@
+package com.storeinventory.viewer.service.impl;
+
+import com.storeinventory.viewer.entity.User;
+import com.storeinventory.viewer.repository.UserRepository;
+import com.storeinventory.viewer.service.DuplicateUserException;
+import com.storeinventory.viewer.user.UserAvailabilityIndex;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+	private UserAvailabilityIndex availabilityIndex;
+	private UserServiceImpl userService;
+
+	@BeforeEach
+	void setUp() {
+		when(userRepository.findAllUsernames()).thenReturn(List.of("admin"));
+		when(userRepository.findAllEmails()).thenReturn(List.of("admin@store.com"));
+		when(passwordEncoder.encode(any())).thenReturn("hashed");
+
+		availabilityIndex = new UserAvailabilityIndex(userRepository);
+		availabilityIndex.rebuild();
+		userService = new UserServiceImpl(userRepository, availabilityIndex);
+		userService.setPasswordEncoder(passwordEncoder);
+	}
+
+	@Test
+	void registersWithASingleInsertAndIndexesTheNewUser() {
+		when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		userService.createUser(new User("clerk", "clerk@store.com", "secret1", null));
+
+		verify(userRepository, never()).existsByUsername(any());
+		verify(userRepository, never()).existsByEmail(any());
+		assertThat(userService.isUsernameAvailable("clerk")).isFalse();
+		assertThat(userService.isEmailAvailable("clerk@store.com")).isFalse();
+	}
+
+	@Test
+	void knownTakenNamesAreRejectedWithoutHashing() {
+		when(userRepository.existsByUsername("admin")).thenReturn(true);
+
+		assertThatThrownBy(() -> userService.createUser(new User("admin", "new@store.com", "secret1", null)))
+				.isInstanceOf(DuplicateUserException.class)
+				.extracting("field").isEqualTo("username");
+
+		verifyNoInteractions(passwordEncoder);
+	}
+
+	@Test
+	void staleIndexEntriesDoNotRefuseSignups() {
+		// Deleted on another instance since the last reconcile
+		when(userRepository.existsByUsername("admin")).thenReturn(false);
+		when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		assertThat(userService.createUser(new User("admin", "new@store.com", "secret1", null)).getUsername())
+				.isEqualTo("admin");
+	}
+
+	@Test
+	void mapsUniqueConstraintViolationsToTheCollidingField() {
+		when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+				new ConstraintViolationException("duplicate", new SQLException("duplicate"), "PUBLIC.UK_USERS_EMAIL_INDEX_4")));
+
+		assertThatThrownBy(() -> userService.createUser(new User("racer", "racer@store.com", "secret1", null)))
+				.isInstanceOf(DuplicateUserException.class)
+				.extracting("field").isEqualTo("email");
+	}
+
+	@Test
+	void newUsersAreNotAdmins() {
+		when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		assertThat(userService.createUser(new User("clerk", "clerk@store.com", "secret1", null)).getRole())
+				.isEqualTo(User.DEFAULT_ROLE);
+	}
+
+	@Test
+	void onlyPasswordChangesSupersedeRefreshTokens() {
+		User existing = new User("clerk", "clerk@store.com", "hashed", "USER");
+		when(userRepository.findById(7L)).thenReturn(Optional.of(existing));
+		when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		User promoted = userService.updateUser(7L, new User("clerk", "clerk@store.com", null, "ADMIN"));
+		assertThat(promoted.getRole()).isEqualTo("ADMIN");
+		assertThat(promoted.getTokenVersion()).isZero();
+
+		User rekeyed = userService.updateUser(7L, new User("clerk", "clerk@store.com", "secret2", null));
+		assertThat(rekeyed.getTokenVersion()).isEqualTo(1);
+	}
+
+	@Test
+	void rehashOnLoginOnlyTouchesThePassword() {
+		User stored = new User("clerk", "clerk@store.com", "old-hash", "USER");
+		stored.setId(7L);
+		when(userRepository.findByUsername("clerk")).thenReturn(Optional.of(stored));
+		when(passwordEncoder.matches("secret1", "old-hash")).thenReturn(true);
+		when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+		when(userRepository.updatePasswordIfUnchanged(7L, "old-hash", "hashed")).thenReturn(1);
+
+		assertThat(userService.verifyCredentials("clerk", "secret1")).isPresent();
+
+		verify(userRepository).updatePasswordIfUnchanged(7L, "old-hash", "hashed");
+		verify(userRepository, never()).save(any(User.class));
+	}
+}
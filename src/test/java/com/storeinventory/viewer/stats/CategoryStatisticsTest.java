@@ -0,0 +1,97 @@
+package com.storeinventory.viewer.stats;
+
+import com.storeinventory.viewer.alert.LowStockIndex;
+import com.storeinventory.viewer.dto.CategoryStats;
+import com.storeinventory.viewer.event.ProductSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryStatisticsTest {
+
+	private LowStockIndex lowStockIndex;
+	private CategoryStatistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		lowStockIndex = new LowStockIndex(10);
+		statistics = new CategoryStatistics(lowStockIndex);
+		apply(product(1L, "Electronics", 19.99, 50, true));
+		apply(product(2L, "Electronics", 5.00, 15, true));
+		apply(product(3L, "Grocery", 2.50, 4, true));
+	}
+
+	@Test
+	void retractsThePreviousStateOfAChangedProduct() {
+		apply(product(2L, "Grocery", 3.00, 1, false));
+
+		CategoryStats electronics = find(statistics.getStatistics(), "Electronics");
+		assertThat(electronics.getProductCount()).isEqualTo(1);
+		assertThat(electronics.getTotalQuantity()).isEqualTo(50);
+		assertThat(electronics.getMinPrice()).isEqualTo(19.99);
+
+		CategoryStats grocery = find(statistics.getStatistics(), "Grocery");
+		assertThat(grocery.getProductCount()).isEqualTo(2);
+		assertThat(grocery.getAvailableCount()).isEqualTo(1);
+		assertThat(grocery.getMaxPrice()).isEqualTo(3.00);
+	}
+
+	@Test
+	void lowStockCountFollowsTheAlertThresholds() {
+		assertThat(find(statistics.getStatistics(), "Electronics").getLowStockCount()).isZero();
+		assertThat(find(statistics.getStatistics(), "Grocery").getLowStockCount()).isEqualTo(1);
+
+		lowStockIndex.setCategoryThreshold("Electronics", 20);
+		lowStockIndex.setProductThreshold(3L, 2);
+
+		assertThat(find(statistics.getStatistics(), "Electronics").getLowStockCount()).isEqualTo(1);
+		assertThat(find(statistics.getStatistics(), "Grocery").getLowStockCount()).isZero();
+	}
+
+	@Test
+	void rebuildKeepsChangesThatRacedWithTheRead() {
+		statistics.beginRebuild();
+		List<ProductSnapshot> stale = List.of(
+				product(1L, "Electronics", 19.99, 50, true),
+				product(2L, "Electronics", 5.00, 15, true),
+				product(3L, "Grocery", 2.50, 4, true));
+
+		// A listener thread applies changes while the fresh totals are being built; it must not block on the rebuild
+		Iterable<ProductSnapshot> current = () -> {
+			Thread listener = new Thread(() -> {
+				statistics.apply(2L, null);
+				statistics.apply(4L, product(4L, "Toys", 8.00, 30, true));
+			});
+			listener.start();
+			try {
+				listener.join(5_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			assertThat(listener.isAlive()).isFalse();
+			return stale.iterator();
+		};
+		statistics.finishRebuild(current);
+
+		assertThat(statistics.size()).isEqualTo(3);
+		assertThat(find(statistics.getStatistics(), "Electronics").getProductCount()).isEqualTo(1);
+		assertThat(find(statistics.getStatistics(), "Toys").getTotalQuantity()).isEqualTo(30);
+	}
+
+	// Both indexes see every change, as their listeners do
+	private void apply(ProductSnapshot product) {
+		lowStockIndex.update(product);
+		statistics.apply(product.getId(), product);
+	}
+
+	private static CategoryStats find(List<CategoryStats> stats, String category) {
+		return stats.stream().filter(s -> s.getCategory().equals(category)).findFirst().orElseThrow();
+	}
+
+	private static ProductSnapshot product(Long id, String category, double price, int quantity, boolean available) {
+		return new ProductSnapshot(id, "Product " + id, "A long description", category, price, quantity, available, null, null);
+	}
+}
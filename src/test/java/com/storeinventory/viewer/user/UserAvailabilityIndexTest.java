@@ -0,0 +1,36 @@
+package com.storeinventory.viewer.user;
+
+import com.storeinventory.viewer.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserAvailabilityIndexTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final UserAvailabilityIndex index = new UserAvailabilityIndex(userRepository);
+
+	@Test
+	void rebuildKeepsChangesThatRacedWithTheExport() {
+		index.add("leaving", "leaving@store.com");
+		when(userRepository.findAllUsernames()).thenAnswer(invocation -> {
+			// Committed while the export runs, after the export read the table
+			index.add("late", "late@store.com");
+			index.remove("leaving", "leaving@store.com");
+			return List.of("admin", "leaving");
+		});
+		when(userRepository.findAllEmails()).thenReturn(List.of("admin@store.com", "leaving@store.com"));
+
+		index.rebuild();
+
+		assertThat(index.isUsernameTaken("admin")).isTrue();
+		assertThat(index.isUsernameTaken("late")).isTrue();
+		assertThat(index.isEmailTaken("late@store.com")).isTrue();
+		assertThat(index.isUsernameTaken("leaving")).isFalse();
+		assertThat(index.isEmailTaken("leaving@store.com")).isFalse();
+	}
+}